@@ -1,15 +1,27 @@
 package br.com.thiagobianeck.awss3poc.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * Configuração do AWS SDK para integração com S3
@@ -20,6 +32,8 @@ import java.net.URI;
 @Configuration
 public class AwsConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AwsConfig.class);
+
     @Value("${aws.s3.endpoint}")
     private String s3Endpoint;
 
@@ -35,31 +49,192 @@ public class AwsConfig {
     @Value("${aws.s3.path-style-access:true}")
     private boolean pathStyleAccess;
 
+    @Value("${aws.s3.http.client:apache}")
+    private String httpClientType;
+
+    @Value("${aws.s3.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${aws.s3.http.connection-acquisition-timeout:10s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.s3.http.connection-timeout:2s}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.s3.http.socket-timeout:30s}")
+    private Duration socketTimeout;
+
+    @Value("${aws.s3.http.connection-max-idle-time:60s}")
+    private Duration connectionMaxIdleTime;
+
+    @Value("${aws.s3.http.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${aws.s3.async-http.max-concurrency:2000}")
+    private int asyncMaxConcurrency;
+
+    @Value("${aws.s3.async-http.max-pending-connection-acquires:10000}")
+    private int asyncMaxPendingConnectionAcquires;
+
+    @Value("${aws.s3.async-http.connection-acquisition-timeout:60s}")
+    private Duration asyncConnectionAcquisitionTimeout;
+
+    /**
+     * Configura o transporte HTTP usado pelo cliente S3
+     * "apache" (padrão) mantém um pool de conexões reaproveitadas entre as chamadas;
+     * "url-connection" abre conexões via HttpURLConnection, sem limite de pool nem keep-alive configurável
+     *
+     * @return Cliente HTTP do S3, fechado junto com o contexto
+     */
+    @Bean(destroyMethod = "close")
+    public SdkHttpClient s3HttpClient() {
+        return switch (httpClientType.trim().toLowerCase()) {
+            case "apache" -> {
+                logger.info("Cliente HTTP do S3: apache - conexões: {}, espera por conexão: {}, "
+                                + "ociosidade máxima: {}, keep-alive: {}",
+                        maxConnections, connectionAcquisitionTimeout, connectionMaxIdleTime, tcpKeepAlive);
+                yield ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .connectionTimeout(connectionTimeout)
+                        .socketTimeout(socketTimeout)
+                        .connectionMaxIdleTime(connectionMaxIdleTime)
+                        .useIdleConnectionReaper(true)
+                        .tcpKeepAlive(tcpKeepAlive)
+                        .build();
+            }
+            case "url-connection" -> {
+                logger.info("Cliente HTTP do S3: url-connection (sem pool de conexões)");
+                yield UrlConnectionHttpClient.builder()
+                        .connectionTimeout(connectionTimeout)
+                        .socketTimeout(socketTimeout)
+                        .build();
+            }
+            default -> throw new IllegalArgumentException(
+                    "aws.s3.http.client deve ser 'apache' ou 'url-connection': " + httpClientType);
+        };
+    }
+
+    /**
+     * Publica as estatísticas do pool de conexões do S3 como métricas s3.http.pool.*
+     *
+     * @param meterRegistry Registro de métricas do Actuator
+     * @return Publicador de métricas do SDK
+     */
+    @Bean
+    public S3HttpClientMetrics s3HttpClientMetrics(MeterRegistry meterRegistry) {
+        return new S3HttpClientMetrics(meterRegistry, "sync");
+    }
+
     /**
      * Configura o cliente S3 para comunicação com LocalStack ou AWS
      *
+     * @param s3HttpClient Transporte HTTP compartilhado
+     * @param s3HttpClientMetrics Publicador das métricas do pool de conexões
      * @return Cliente S3 configurado
      */
     @Bean
-    public S3Client s3Client() {
-        var credentialsProvider = StaticCredentialsProvider.create(
-                AwsBasicCredentials.create(accessKey, secretKey)
-        );
-
-        var s3ConfigBuilder = S3Configuration.builder()
-                .pathStyleAccessEnabled(pathStyleAccess);
-
+    public S3Client s3Client(SdkHttpClient s3HttpClient, S3HttpClientMetrics s3HttpClientMetrics) {
         var clientBuilder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(credentialsProvider)
-                .serviceConfiguration(s3ConfigBuilder.build());
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(s3Configuration())
+                .httpClient(s3HttpClient)
+                .overrideConfiguration(override -> override.addMetricPublisher(s3HttpClientMetrics));
 
         // Se não for produção, usa o endpoint do LocalStack
-        if (s3Endpoint != null && !s3Endpoint.isEmpty() &&
-                !s3Endpoint.contains("amazonaws.com")) {
+        if (isCustomEndpoint()) {
+            clientBuilder.endpointOverride(URI.create(s3Endpoint));
+        }
+
+        return clientBuilder.build();
+    }
+
+    /**
+     * Configura o transporte HTTP não bloqueante (Netty) do cliente S3 assíncrono
+     * O pool tem limites próprios (aws.s3.async-http.*): uma transferência lenta ocupa uma conexão
+     * mas nenhuma thread, então o pool comporta milhares de transferências simultâneas
+     * Os tempos de conexão, leitura e ociosidade são os de aws.s3.http.*
+     * Criado apenas quando algum componente usa o S3AsyncClient
+     *
+     * @return Cliente HTTP assíncrono do S3, fechado junto com o contexto
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public SdkAsyncHttpClient s3AsyncHttpClient() {
+        logger.info("Cliente HTTP assíncrono do S3: netty - conexões: {}, fila: {}, espera por conexão: {}",
+                asyncMaxConcurrency, asyncMaxPendingConnectionAcquires, asyncConnectionAcquisitionTimeout);
+
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(asyncMaxConcurrency)
+                .maxPendingConnectionAcquires(asyncMaxPendingConnectionAcquires)
+                .connectionAcquisitionTimeout(asyncConnectionAcquisitionTimeout)
+                .connectionTimeout(connectionTimeout)
+                .readTimeout(socketTimeout)
+                .writeTimeout(socketTimeout)
+                .connectionMaxIdleTime(connectionMaxIdleTime)
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+    }
+
+    /**
+     * Configura o cliente S3 assíncrono: as chamadas retornam CompletableFuture
+     * e nenhuma thread fica bloqueada aguardando a resposta do S3
+     *
+     * @param s3AsyncHttpClient Transporte HTTP não bloqueante
+     * @param meterRegistry Registro de métricas do Actuator
+     * @return Cliente S3 assíncrono configurado
+     */
+    @Bean
+    @Lazy
+    public S3AsyncClient s3AsyncClient(SdkAsyncHttpClient s3AsyncHttpClient, MeterRegistry meterRegistry) {
+        var clientBuilder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(s3Configuration())
+                .httpClient(s3AsyncHttpClient)
+                .overrideConfiguration(override -> override.addMetricPublisher(
+                        new S3HttpClientMetrics(meterRegistry, "async")));
+
+        if (isCustomEndpoint()) {
             clientBuilder.endpointOverride(URI.create(s3Endpoint));
         }
 
         return clientBuilder.build();
     }
+
+    /**
+     * Configura o gerador de URLs pré-assinadas com a mesma região, credenciais e endpoint do cliente S3
+     * Uma única instância é compartilhada por todas as requisições
+     *
+     * @return S3Presigner configurado
+     */
+    @Bean
+    public S3Presigner s3Presigner() {
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(s3Configuration());
+
+        if (isCustomEndpoint()) {
+            presignerBuilder.endpointOverride(URI.create(s3Endpoint));
+        }
+
+        return presignerBuilder.build();
+    }
+
+    private StaticCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    private S3Configuration s3Configuration() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+    }
+
+    private boolean isCustomEndpoint() {
+        return s3Endpoint != null && !s3Endpoint.isEmpty() && !s3Endpoint.contains("amazonaws.com");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.thiagobianeck.awss3poc.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuração dos executores usados nas operações paralelas com o S3
+ *
+ * @author Bianeck
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Executor para tarefas de I/O bloqueante contra o S3 (partes de upload, lotes, etc.)
+     * Segue o mesmo modo de threads das requisições (spring.threads.virtual.enabled):
+     * uma thread virtual por tarefa, ou threads de plataforma reaproveitadas em um pool sem limite fixo
+     * O limite de concorrência é aplicado por quem submete as tarefas, que aguarda uma vaga antes de submetê-las:
+     * no modo de plataforma, cada tarefa submetida sem thread livre cria uma nova thread
+     *
+     * @return Executor de tarefas do S3
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService s3TaskExecutor() {
+        logger.info("Executor de tarefas do S3 usando threads {}",
+                virtualThreadsEnabled ? "virtuais" : "de plataforma");
+
+        if (virtualThreadsEnabled) {
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("s3-task-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(
+                Thread.ofPlatform().name("s3-task-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.thiagobianeck.awss3poc.config;
+
+import br.com.thiagobianeck.awss3poc.controller.ReactiveFileHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Servidor Reactor Netty da API reativa (app.reactive.enabled=true)
+ * Roda em porta própria ao lado do Tomcat: o MVC e o WebFlux não compartilham o mesmo servidor,
+ * e poucas threads de event loop atendem todas as conexões, sem uma thread por requisição
+ *
+ * @author Bianeck
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveServerConfig.class);
+
+    @Value("${app.reactive.port:8081}")
+    private int port;
+
+    @Value("${app.reactive.event-loop-threads:4}")
+    private int eventLoopThreads;
+
+    /**
+     * Threads de event loop exclusivas do servidor reativo (daemon)
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveLoopResources() {
+        return LoopResources.create("reactive-http", eventLoopThreads, true);
+    }
+
+    /**
+     * Servidor HTTP com as rotas funcionais de arquivos, usando o mesmo ObjectMapper dos endpoints MVC
+     *
+     * @return Servidor já em execução
+     */
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveHttpServer(LoopResources reactiveLoopResources,
+                                               ReactiveFileHandler reactiveFileHandler,
+                                               ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        var httpHandler = RouterFunctions.toHttpHandler(reactiveFileHandler.routes(), strategies);
+
+        DisposableServer server = HttpServer.create()
+                .port(port)
+                .runOn(reactiveLoopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+
+        logger.info("Servidor reativo iniciado na porta {} com {} threads de event loop",
+                server.port(), eventLoopThreads);
+        return server;
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.thiagobianeck.awss3poc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica no Micrometer o estado do pool de conexões HTTP do cliente S3
+ * O SDK reporta o pool a cada chamada; os gauges guardam o valor da chamada mais recente
+ * Métricas: s3.http.pool.max, s3.http.pool.leased, s3.http.pool.available,
+ * s3.http.pool.pending e o timer s3.http.pool.acquire (espera por uma conexão),
+ * com a tag client=sync ou client=async
+ *
+ * @author Bianeck
+ */
+public class S3HttpClientMetrics implements MetricPublisher {
+
+    private final AtomicInteger maxConnections = new AtomicInteger();
+    private final AtomicInteger leasedConnections = new AtomicInteger();
+    private final AtomicInteger availableConnections = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final Timer acquireTimer;
+
+    public S3HttpClientMetrics(MeterRegistry meterRegistry, String client) {
+        Gauge.builder("s3.http.pool.max", maxConnections, AtomicInteger::get)
+                .description("Máximo de conexões do pool HTTP do S3")
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("s3.http.pool.leased", leasedConnections, AtomicInteger::get)
+                .description("Conexões do pool HTTP do S3 em uso")
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("s3.http.pool.available", availableConnections, AtomicInteger::get)
+                .description("Conexões ociosas disponíveis no pool HTTP do S3")
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("s3.http.pool.pending", pendingAcquires, AtomicInteger::get)
+                .description("Chamadas aguardando uma conexão do pool HTTP do S3")
+                .tag("client", client)
+                .register(meterRegistry);
+        this.acquireTimer = Timer.builder("s3.http.pool.acquire")
+                .description("Tempo de espera por uma conexão do pool HTTP do S3")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        // Os valores do pool ficam na coleção da tentativa HTTP, abaixo da chamada à API
+        record(metricCollection);
+    }
+
+    @Override
+    public void close() {
+        // Nada a liberar: os medidores pertencem ao MeterRegistry
+    }
+
+    private void record(MetricCollection collection) {
+        update(collection, HttpMetric.MAX_CONCURRENCY, maxConnections);
+        update(collection, HttpMetric.LEASED_CONCURRENCY, leasedConnections);
+        update(collection, HttpMetric.AVAILABLE_CONCURRENCY, availableConnections);
+        update(collection, HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingAcquires);
+
+        for (Duration acquireDuration : collection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            acquireTimer.record(acquireDuration);
+        }
+
+        collection.children().forEach(this::record);
+    }
+
+    private static void update(MetricCollection collection, SdkMetric<Integer> metric, AtomicInteger gauge) {
+        var values = collection.metricValues(metric);
+        if (!values.isEmpty()) {
+            gauge.set(values.getLast());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.thiagobianeck.awss3poc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas da aplicação (reconciliação das estatísticas do bucket)
+ *
+ * @author Bianeck
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,86 @@
+package br.com.thiagobianeck.awss3poc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta threads virtuais presas à thread de plataforma (pinning) durante operações bloqueantes,
+ * como I/O dentro de blocos synchronized do próprio código ou das bibliotecas (SDK, cliente HTTP)
+ * Cada ocorrência acima do limite é registrada no timer jvm.threads.virtual.pinned e logada com
+ * o trecho da pilha responsável
+ *
+ * @author Bianeck
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Tempo em que threads virtuais ficaram presas à thread de plataforma")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+
+        logger.info("Monitoramento de pinning de threads virtuais ativo (limite: {})", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        if (logger.isWarnEnabled()) {
+            String frames = event.getStackTrace() == null ? "(pilha indisponível)"
+                    : event.getStackTrace().getFrames().stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(VirtualThreadPinningMonitor::formatFrame)
+                    .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+
+            logger.warn("Thread virtual presa à thread de plataforma por {} ms{}",
+                    event.getDuration().toMillis(), frames);
+        }
+    }
+
+    private static String formatFrame(RecordedFrame frame) {
+        return String.format("%s.%s:%d",
+                frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber());
+    }
+}
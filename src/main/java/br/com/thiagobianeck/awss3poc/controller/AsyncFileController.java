@@ -0,0 +1,231 @@
+package br.com.thiagobianeck.awss3poc.controller;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.UploadResponseDto;
+import br.com.thiagobianeck.awss3poc.service.AsyncFileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller REST assíncrono para as operações principais de arquivos
+ * Os endpoints retornam CompletableFuture: a thread do servlet é devolvida ao Tomcat
+ * enquanto a chamada ao S3 está em andamento, e a resposta é escrita quando o futuro completa
+ *
+ * @author Bianeck
+ */
+@RestController
+@RequestMapping("/files/async")
+@Validated
+@Tag(name = "Gerenciamento de Arquivos (assíncrono)",
+        description = "Operações principais sobre arquivos no AWS S3 com respostas assíncronas")
+public class AsyncFileController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncFileController.class);
+
+    private final AsyncFileService asyncFileService;
+
+    public AsyncFileController(AsyncFileService asyncFileService) {
+        this.asyncFileService = asyncFileService;
+    }
+
+    @Operation(
+            summary = "Upload de arquivo único (assíncrono)",
+            description = "Realiza o upload de um único arquivo para o S3 sem ocupar uma thread do servlet " +
+                    "durante o envio. Suporta arquivos até 50MB."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Arquivo enviado com sucesso",
+                    content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo inválido ou erro na validação"),
+            @ApiResponse(responseCode = "413", description = "Arquivo muito grande"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<UploadResponseDto>> uploadFile(
+            @Parameter(description = "Arquivo a ser enviado", required = true)
+            @RequestParam("file") MultipartFile file) {
+
+        logger.info("Recebida requisição de upload assíncrono para arquivo: {}", file.getOriginalFilename());
+
+        return asyncFileService.uploadFile(file).thenApply(uploadedFile -> {
+            logger.info("Upload assíncrono concluído com sucesso: {}", uploadedFile.key());
+            return ResponseEntity.status(HttpStatus.CREATED).body(UploadResponseDto.success(uploadedFile));
+        });
+    }
+
+    @Operation(
+            summary = "Download de arquivo (assíncrono)",
+            description = "Realiza o download de um arquivo do S3 em streaming. A espera pela resposta do S3 " +
+                    "não ocupa uma thread do servlet. Suporta Range, If-Range, If-None-Match e If-Modified-Since."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo baixado com sucesso"),
+            @ApiResponse(responseCode = "206", description = "Intervalo do arquivo baixado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Arquivo não modificado desde a cópia do cliente"),
+            @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+            @ApiResponse(responseCode = "416", description = "Intervalo solicitado inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/download/{key:.+}")
+    public CompletableFuture<ResponseEntity<Resource>> downloadFile(
+            @Parameter(description = "Chave única do arquivo no S3", required = true)
+            @PathVariable String key,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest webRequest) {
+
+        logger.info("Recebida requisição de download assíncrono para arquivo: {}", key);
+
+        DownloadConditions conditions = DownloadResponses.toDownloadConditions(requestHeaders);
+
+        return asyncFileService.openDownload(key, conditions).thenApply(download -> {
+            if (download.isNotModified()) {
+                logger.info("Arquivo não modificado: {}", key);
+                return DownloadResponses.notModified(download.fileInfo());
+            }
+
+            if (!download.isPartial() && webRequest.checkNotModified(
+                    download.fileInfo().eTag(), download.fileInfo().lastModified().toEpochMilli())) {
+                DownloadResponses.closeQuietly(download.content());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(DownloadResponses.cacheControl())
+                        .<Resource>build();
+            }
+
+            return DownloadResponses.content(download);
+        });
+    }
+
+    @Operation(
+            summary = "Listar arquivos paginados (assíncrono)",
+            description = "Retorna uma página de arquivos com tamanho limitado. " +
+                    "Use o nextCursor da resposta para buscar a próxima página."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de arquivos retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = FilePageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<FilePageDto>> listFilesPage(
+            @Parameter(description = "Prefixo para filtrar arquivos")
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(description = "Quantidade de arquivos por página (padrão: 100, máximo: 1000)")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size,
+
+            @Parameter(description = "Cursor retornado pela página anterior")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Chave a partir da qual a listagem começa (ignorada quando há cursor)")
+            @RequestParam(required = false) String startAfter) {
+
+        logger.info("Recebida requisição assíncrona para listar página de arquivos - prefixo: {}, tamanho: {}",
+                prefix, size);
+
+        return asyncFileService.listFiles(prefix, size, cursor, startAfter).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Obter informações de arquivo (assíncrono)",
+            description = "Retorna informações detalhadas de um arquivo específico."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Informações do arquivo retornadas",
+                    content = @Content(schema = @Schema(implementation = FileInfoDto.class))),
+            @ApiResponse(responseCode = "304", description = "Arquivo não modificado desde a consulta anterior"),
+            @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/info/{key:.+}")
+    public CompletableFuture<ResponseEntity<FileInfoDto>> getFileInfo(
+            @Parameter(description = "Chave única do arquivo no S3", required = true)
+            @PathVariable String key) {
+
+        logger.info("Recebida requisição assíncrona para obter informações do arquivo: {}", key);
+
+        return asyncFileService.getFileInfo(key).thenApply(fileInfo -> ResponseEntity.ok()
+                .eTag(fileInfo.eTag())
+                .lastModified(fileInfo.lastModified())
+                .cacheControl(DownloadResponses.cacheControl())
+                .body(fileInfo));
+    }
+
+    @Operation(
+            summary = "Verificar existência de arquivo (assíncrono)",
+            description = "Verifica se um arquivo existe no S3 sem baixá-lo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificação concluída"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/exists/{key:.+}")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> fileExists(
+            @Parameter(description = "Chave única do arquivo no S3", required = true)
+            @PathVariable String key) {
+
+        logger.info("Recebida requisição assíncrona para verificar existência do arquivo: {}", key);
+
+        return asyncFileService.fileExists(key).thenApply(exists -> {
+            Map<String, Object> response = Map.of(
+                    "key", key,
+                    "exists", exists,
+                    "message", exists ? "Arquivo existe" : "Arquivo não encontrado"
+            );
+
+            logger.info("Verificação de existência para {}: {}", key, exists);
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    @Operation(
+            summary = "Excluir arquivo (assíncrono)",
+            description = "Remove um arquivo específico do S3 usando sua chave única."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo excluído com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @DeleteMapping("/{key:.+}")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteFile(
+            @Parameter(description = "Chave única do arquivo no S3", required = true)
+            @PathVariable String key) {
+
+        logger.info("Recebida requisição assíncrona para excluir arquivo: {}", key);
+
+        return asyncFileService.deleteFile(key).thenApply(deleted -> {
+            Map<String, Object> response = Map.of(
+                    "success", deleted,
+                    "message", deleted ? "Arquivo excluído com sucesso" : "Falha ao excluir arquivo",
+                    "key", key
+            );
+
+            logger.info("Exclusão de arquivo {}: {}", key, deleted ? "sucesso" : "falha");
+            return ResponseEntity.ok(response);
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.thiagobianeck.awss3poc.controller;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Tradução entre os headers HTTP de download (Range, If-Range, If-None-Match, If-Modified-Since)
+ * e o GetObject do S3, e montagem das respostas de download
+ * Compartilhada pelos controllers síncrono e assíncrono
+ *
+ * @author Bianeck
+ */
+final class DownloadResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownloadResponses.class);
+
+    private DownloadResponses() {
+        // Classe utilitária - construtor privado
+    }
+
+    /**
+     * Converte os headers Range, If-Range, If-None-Match e If-Modified-Since nas condições do GetObject
+     */
+    static DownloadConditions toDownloadConditions(HttpHeaders requestHeaders) {
+        return new DownloadConditions(
+                toS3Range(requestHeaders),
+                requestHeaders.getFirst(HttpHeaders.IF_RANGE),
+                toS3IfNoneMatch(requestHeaders),
+                toS3IfModifiedSince(requestHeaders));
+    }
+
+    /**
+     * Converte o header Range em um intervalo para o GetObject do S3
+     * Headers inválidos ou com múltiplos intervalos são ignorados (resposta completa, 200)
+     */
+    private static String toS3Range(HttpHeaders requestHeaders) {
+        if (requestHeaders.getFirst(HttpHeaders.RANGE) == null) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            if (ranges.size() != 1) {
+                logger.debug("Múltiplos intervalos não suportados, enviando arquivo completo");
+                return null;
+            }
+            return HttpRange.toString(ranges);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Header Range inválido ignorado: {}", requestHeaders.getFirst(HttpHeaders.RANGE));
+            return null;
+        }
+    }
+
+    /**
+     * Converte o If-None-Match para o GetObject do S3, que aceita um único ETag forte
+     * Listas e curingas ficam para a verificação local após o GET
+     */
+    private static String toS3IfNoneMatch(HttpHeaders requestHeaders) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (ifNoneMatch.size() != 1 || "*".equals(ifNoneMatch.get(0))) {
+            return null;
+        }
+        String eTag = ifNoneMatch.get(0);
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    /**
+     * O If-Modified-Since só é enviado ao S3 sem If-None-Match, que tem precedência
+     */
+    private static Instant toS3IfModifiedSince(HttpHeaders requestHeaders) {
+        return requestHeaders.getIfNoneMatch().isEmpty() && requestHeaders.getIfModifiedSince() > 0
+                ? Instant.ofEpochMilli(requestHeaders.getIfModifiedSince())
+                : null;
+    }
+
+    /**
+     * Nenhuma chave tem conteúdo garantidamente imutável: mesmo as geradas no upload podem ser
+     * regravadas pelo cliente enquanto a URL pré-assinada de PUT (ou das partes) for válida
+     * O cliente guarda a cópia e a revalida pelo ETag, recebendo 304 sem corpo enquanto ela não mudar
+     */
+    static CacheControl cacheControl() {
+        return CacheControl.noCache();
+    }
+
+    /**
+     * Monta a resposta 200 (arquivo completo) ou 206 (intervalo) com o stream aberto do S3
+     */
+    static ResponseEntity<Resource> content(FileDownloadDto download) {
+        FileInfoDto fileInfo = download.fileInfo();
+
+        // Configura headers para download
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION,
+                String.format("attachment; filename='%s'", fileInfo.fileName()));
+        headers.add(HttpHeaders.CONTENT_TYPE, fileInfo.contentType());
+        headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(download.contentLength()));
+        headers.add(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (download.isPartial()) {
+            headers.add(HttpHeaders.CONTENT_RANGE, download.contentRange());
+
+            logger.info("Download parcial iniciado para arquivo: {} ({})",
+                    fileInfo.fileName(), download.contentRange());
+
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .eTag(fileInfo.eTag())
+                    .lastModified(fileInfo.lastModified())
+                    .cacheControl(cacheControl())
+                    .body(download.content());
+        }
+
+        logger.info("Download iniciado para arquivo: {} ({})",
+                fileInfo.fileName(), fileInfo.getFormattedSize());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(fileInfo.eTag())
+                .lastModified(fileInfo.lastModified())
+                .cacheControl(cacheControl())
+                .body(download.content());
+    }
+
+    static ResponseEntity<Resource> notModified(FileInfoDto fileInfo) {
+        var response = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(fileInfo.eTag())
+                .cacheControl(cacheControl());
+        if (fileInfo.lastModified() != null) {
+            response.lastModified(fileInfo.lastModified());
+        }
+        return response.build();
+    }
+
+    static void closeQuietly(Resource resource) {
+        try {
+            resource.getInputStream().close();
+        } catch (IOException e) {
+            logger.debug("Erro ao fechar stream parcial descartado", e);
+        }
+    }
+}
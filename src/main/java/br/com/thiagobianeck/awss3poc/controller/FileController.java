@@ -1,9 +1,28 @@
 package br.com.thiagobianeck.awss3poc.controller;
 
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import br.com.thiagobianeck.awss3poc.dto.BucketStatsDto;
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.FileUploadResultDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartPartDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartUploadDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixCopyResultDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixDeleteProgressDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedPartsDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUploadRequestDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
 import br.com.thiagobianeck.awss3poc.dto.UploadResponseDto;
+import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.service.BucketStatsService;
 import br.com.thiagobianeck.awss3poc.service.FileService;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,24 +30,49 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import software.amazon.awssdk.core.exception.SdkException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
 /**
  * Controller REST para operações de gerenciamento de arquivos no S3
@@ -44,10 +88,33 @@ public class FileController {
 
     private static final Logger logger = LoggerFactory.getLogger(FileController.class);
 
-    private final FileService fileService;
+    /**
+     * Registros escritos entre cada flush da exportação: o tamanho de página padrão do ListObjectsV2
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
-    public FileController(FileService fileService) {
+    private static final String STREAMING_TIMEOUT_INTERCEPTOR = FileController.class.getName() + ".streamingTimeout";
+
+    private final FileService fileService;
+    private final BucketStatsService bucketStatsService;
+    private final ObjectMapper objectMapper;
+    private final Duration streamingTimeout;
+    private final DataSize maxRequestSize;
+    private final DataSize maxFileSize;
+
+    public FileController(FileService fileService, BucketStatsService bucketStatsService,
+                          ObjectMapper objectMapper,
+                          @Value("${app.file.streaming-timeout:30m}") Duration streamingTimeout,
+                          @Value("${spring.servlet.multipart.max-request-size:100MB}") DataSize maxRequestSize,
+                          @Value("${spring.servlet.multipart.max-file-size:50MB}") DataSize maxFileSize) {
         this.fileService = fileService;
+        this.bucketStatsService = bucketStatsService;
+        this.objectMapper = objectMapper;
+        this.streamingTimeout = streamingTimeout;
+        this.maxRequestSize = maxRequestSize;
+        this.maxFileSize = maxFileSize;
     }
 
     @Operation(
@@ -77,13 +144,144 @@ public class FileController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Upload de arquivos em streaming",
+            description = "Lê o multipart/form-data de forma incremental e envia cada arquivo ao S3 à medida " +
+                    "que chega, sem arquivo temporário. Arquivos a partir do threshold do multipart do S3 têm " +
+                    "as partes enviadas enquanto o restante ainda é recebido. Suporta até 10 arquivos de até " +
+                    "50MB, com 100MB no total. Se um arquivo falhar depois de outros já enviados, o campo " +
+                    "'results' informa os arquivos armazenados e a falha."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Arquivos enviados com sucesso",
+                    content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
+            @ApiResponse(responseCode = "207", description = "Upload interrompido após arquivos já enviados " +
+                    "(ver 'results')",
+                    content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo inválido, muito grande ou corpo malformado"),
+            @ApiResponse(responseCode = "413", description = "Requisição muito grande"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping(value = "/upload/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UploadResponseDto> uploadFileStream(HttpServletRequest request) {
+
+        logger.info("Recebida requisição de upload em streaming");
+
+        // O resolver de multipart é preguiçoso (resolve-lazily): o corpo ainda não foi lido pelo Spring
+        // O parser aplica os mesmos limites de tamanho do multipart do Spring e do upload múltiplo enquanto lê o corpo
+        var upload = new JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory>();
+        upload.setSizeMax(Math.min(maxRequestSize.toBytes(), FileUtils.MAX_TOTAL_UPLOAD_SIZE));
+        upload.setFileSizeMax(maxFileSize.toBytes());
+        List<FileUploadResultDto> results = new ArrayList<>();
+
+        try {
+            FileItemInputIterator parts = upload.getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+                if (part.isFormField()) {
+                    continue;
+                }
+                // O fileCountMax do parser só vale no parseRequest, não na leitura pelo iterador
+                if (results.size() == FileUtils.MAX_FILES_PER_UPLOAD) {
+                    results.add(FileUploadResultDto.failure(part.getName(),
+                            "Máximo de " + FileUtils.MAX_FILES_PER_UPLOAD + " arquivos por upload"));
+                    break;
+                }
+
+                try (InputStream content = part.getInputStream()) {
+                    results.add(FileUploadResultDto.success(fileService.uploadStream(part.getName(), content)));
+                } catch (RuntimeException e) {
+                    if (results.isEmpty()) {
+                        throw e;
+                    }
+                    // Os arquivos anteriores já estão no S3: a falha entra no resultado em vez de ocultá-los
+                    logger.error("Falha no upload em streaming do arquivo: {}", part.getName(), e);
+                    results.add(FileUploadResultDto.failure(part.getName(), e.getMessage()));
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            RuntimeException failure = toStreamUploadException(e);
+            if (results.isEmpty()) {
+                throw failure;
+            }
+            logger.error("Erro ao ler o conteúdo multipart após {} arquivo(s) enviado(s)", results.size(), e);
+            results.add(FileUploadResultDto.failure("N/A", failure.getMessage()));
+        }
+
+        if (results.isEmpty()) {
+            throw new FileUploadException("N/A", "Nenhum arquivo encontrado na requisição");
+        }
+
+        UploadResponseDto response = UploadResponseDto.fromResults(results);
+
+        logger.info("Upload em streaming concluído: {} de {} arquivos enviados",
+                response.files().size(), results.size());
+
+        HttpStatus status = response.success() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Converte os erros de leitura do multipart, incluindo os limites excedidos, nas exceções tratadas pela API
+     */
+    private RuntimeException toStreamUploadException(IOException e) {
+        if (e instanceof FileUploadSizeException sizeException) {
+            return new MaxUploadSizeExceededException(sizeException.getPermitted(), e);
+        }
+        return new FileUploadException("N/A", "Erro ao ler o conteúdo multipart", e);
+    }
+
+    @Operation(
+            summary = "Upload de arquivo como corpo bruto",
+            description = "Recebe o arquivo como application/octet-stream, sem codificação multipart, e o envia " +
+                    "direto ao S3 enquanto é recebido. O Content-Length é obrigatório e validado com as mesmas " +
+                    "regras do upload comum. Indicado para integrações entre serviços. Suporta arquivos até 50MB."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Arquivo enviado com sucesso",
+                    content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo inválido ou erro na validação"),
+            @ApiResponse(responseCode = "411", description = "Content-Length não informado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PutMapping(value = "/raw/{filename}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadResponseDto> uploadRawFile(
+            @Parameter(description = "Nome original do arquivo", required = true)
+            @PathVariable String filename,
+            HttpServletRequest request) {
+
+        logger.info("Recebida requisição de upload bruto para arquivo: {}", filename);
+
+        // Sem Content-Length (corpo chunked) não há como validar o tamanho antes de ler
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED)
+                    .body(UploadResponseDto.error("O header Content-Length é obrigatório no upload bruto"));
+        }
+
+        FileInfoDto uploadedFile;
+        try (InputStream content = request.getInputStream()) {
+            uploadedFile = fileService.uploadFile(filename, content, contentLength);
+        } catch (IOException e) {
+            throw new FileUploadException(filename, "Erro ao ler o corpo da requisição", e);
+        }
+
+        logger.info("Upload bruto concluído com sucesso: {}", uploadedFile.key());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(UploadResponseDto.success(uploadedFile));
+    }
+
     @Operation(
             summary = "Upload de múltiplos arquivos",
-            description = "Realiza o upload de até 10 arquivos simultaneamente. Tamanho total máximo: 100MB."
+            description = "Realiza o upload de até 10 arquivos em paralelo. Tamanho total máximo: 100MB. " +
+                    "O campo 'results' informa o resultado de cada arquivo."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Arquivos enviados com sucesso",
                     content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
+            @ApiResponse(responseCode = "207", description = "Um ou mais arquivos falharam (ver 'results')",
+                    content = @Content(schema = @Schema(implementation = UploadResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Arquivos inválidos ou erro na validação"),
             @ApiResponse(responseCode = "413", description = "Arquivos muito grandes"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
@@ -95,46 +293,64 @@ public class FileController {
 
         logger.info("Recebida requisição de upload múltiplo para {} arquivos", files.size());
 
-        List<FileInfoDto> uploadedFiles = fileService.uploadMultipleFiles(files);
-        UploadResponseDto response = UploadResponseDto.success(uploadedFiles);
+        List<FileUploadResultDto> results = fileService.uploadFiles(files);
+        UploadResponseDto response = UploadResponseDto.fromResults(results);
 
-        logger.info("Upload múltiplo concluído: {} arquivos enviados", uploadedFiles.size());
+        logger.info("Upload múltiplo concluído: {} de {} arquivos enviados",
+                response.files().size(), results.size());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // 207 permite ao cliente reenviar apenas os arquivos que falharam
+        HttpStatus status = response.success() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
     }
 
     @Operation(
             summary = "Download de arquivo",
-            description = "Realiza o download de um arquivo do S3 usando sua chave única."
+            description = "Realiza o download de um arquivo do S3 usando sua chave única. " +
+                    "O conteúdo é transmitido em streaming, sem ser carregado em memória. " +
+                    "Suporta o header Range (intervalo único, inclusive sufixo) e If-Range, " +
+                    "buscando no S3 apenas os bytes solicitados. " +
+                    "Requisições condicionais (If-None-Match / If-Modified-Since) recebem 304 sem o corpo."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Arquivo baixado com sucesso"),
+            @ApiResponse(responseCode = "206", description = "Intervalo do arquivo baixado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Arquivo não modificado desde a cópia do cliente"),
             @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+            @ApiResponse(responseCode = "416", description = "Intervalo solicitado inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @GetMapping("/download/{key:.+}")
     public ResponseEntity<Resource> downloadFile(
             @Parameter(description = "Chave única do arquivo no S3", required = true)
-            @PathVariable String key) {
+            @PathVariable String key,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest webRequest) {
 
         logger.info("Recebida requisição de download para arquivo: {}", key);
 
-        Resource resource = fileService.downloadFile(key);
-        FileInfoDto fileInfo = fileService.getFileInfo(key);
-
-        // Configura headers para download
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION,
-                String.format("attachment; filename='%s'", fileInfo.fileName()));
-        headers.add(HttpHeaders.CONTENT_TYPE, fileInfo.contentType());
-        headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileInfo.size()));
-
-        logger.info("Download iniciado para arquivo: {} ({})",
-                fileInfo.fileName(), fileInfo.getFormattedSize());
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(resource);
+        // Corpo e metadados vêm do mesmo GetObject; com Range, o S3 devolve apenas o intervalo
+        // (ou o arquivo completo, se o If-Range não corresponder mais)
+        // e com If-None-Match/If-Modified-Since responde 304 sem transferir o corpo
+        DownloadConditions conditions = DownloadResponses.toDownloadConditions(requestHeaders);
+        FileDownloadDto download = fileService.openDownload(key, conditions);
+
+        if (download.isNotModified()) {
+            logger.info("Arquivo não modificado: {}", key);
+            return DownloadResponses.notModified(download.fileInfo());
+        }
+
+        if (!download.isPartial() && webRequest.checkNotModified(
+                download.fileInfo().eTag(), download.fileInfo().lastModified().toEpochMilli())) {
+            // Condições que o S3 não avalia (lista de ETags, curinga) resolvidas localmente;
+            // o checkNotModified já escreveu ETag e Last-Modified na resposta
+            DownloadResponses.closeQuietly(download.content());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(DownloadResponses.cacheControl())
+                    .build();
+        }
+
+        return DownloadResponses.content(download);
     }
 
     @Operation(
@@ -182,6 +398,94 @@ public class FileController {
         return ResponseEntity.ok(files);
     }
 
+    @Operation(
+            summary = "Exportar listagem completa (NDJSON)",
+            description = "Transmite todos os arquivos do bucket (ou de um prefixo) em NDJSON, " +
+                    "um FileInfoDto por linha, à medida que cada página chega do S3. " +
+                    "O uso de memória é constante, independente do tamanho do bucket."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Listagem transmitida com sucesso",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = FileInfoDto.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportFiles(
+            @Parameter(description = "Prefixo para filtrar arquivos")
+            @RequestParam(required = false) String prefix,
+            WebRequest webRequest) {
+
+        logger.info("Recebida requisição para exportar listagem de arquivos - prefixo: {}", prefix);
+
+        // Exportações de buckets grandes podem ser longas
+        extendAsyncTimeout(webRequest, streamingTimeout);
+
+        StreamingResponseBody body = outputStream -> {
+            long exported = 0;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+                 Stream<FileInfoDto> files = fileService.streamFiles(prefix)) {
+                // Quem fecha o stream da resposta é o Spring; o separador entre registros é a quebra de linha
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+
+                Iterator<FileInfoDto> iterator = files.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    generator.writeRaw('\n');
+
+                    // Envia cada página assim que é escrita, sem acumular a listagem
+                    if (++exported % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (SdkException e) {
+                // Os headers já foram enviados: resta registrar e interromper a resposta
+                logger.error("Erro do S3 durante exportação da listagem após {} arquivos", exported, e);
+                throw e;
+            }
+
+            logger.info("Exportação concluída: {} arquivos", exported);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Listar arquivos paginados",
+            description = "Retorna uma página de arquivos com tamanho limitado. " +
+                    "Use o nextCursor da resposta para buscar a próxima página."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de arquivos retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = FilePageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<FilePageDto> listFilesPage(
+            @Parameter(description = "Prefixo para filtrar arquivos")
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(description = "Quantidade de arquivos por página (padrão: 100, máximo: 1000)")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size,
+
+            @Parameter(description = "Cursor retornado pela página anterior")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Chave a partir da qual a listagem começa (ignorada quando há cursor)")
+            @RequestParam(required = false) String startAfter) {
+
+        logger.info("Recebida requisição para listar página de arquivos - prefixo: {}, tamanho: {}",
+                prefix, size);
+
+        FilePageDto page = fileService.listFiles(prefix, size, cursor, startAfter);
+
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(
             summary = "Obter informações de arquivo",
             description = "Retorna informações detalhadas de um arquivo específico."
@@ -189,6 +493,7 @@ public class FileController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Informações do arquivo retornadas",
                     content = @Content(schema = @Schema(implementation = FileInfoDto.class))),
+            @ApiResponse(responseCode = "304", description = "Arquivo não modificado desde a consulta anterior"),
             @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
@@ -204,7 +509,13 @@ public class FileController {
         logger.info("Informações obtidas para arquivo: {} ({})",
                 fileInfo.fileName(), fileInfo.getFormattedSize());
 
-        return ResponseEntity.ok(fileInfo);
+        // Com ETag e Last-Modified na resposta, o Spring responde 304 às requisições
+        // condicionais cujo arquivo não mudou, a partir apenas do HEAD
+        return ResponseEntity.ok()
+                .eTag(fileInfo.eTag())
+                .lastModified(fileInfo.lastModified())
+                .cacheControl(DownloadResponses.cacheControl())
+                .body(fileInfo);
     }
 
     @Operation(
@@ -238,34 +549,76 @@ public class FileController {
 
     @Operation(
             summary = "Excluir múltiplos arquivos",
-            description = "Remove múltiplos arquivos do S3 usando suas chaves únicas."
+            description = "Remove múltiplos arquivos do S3 usando suas chaves únicas. " +
+                    "Listas de qualquer tamanho são divididas em blocos de 1000 chaves excluídos em paralelo."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Operação de exclusão concluída"),
+            @ApiResponse(responseCode = "200", description = "Todos os arquivos foram excluídos",
+                    content = @Content(schema = @Schema(implementation = BatchDeleteResultDto.class))),
+            @ApiResponse(responseCode = "207", description = "Alguns arquivos não puderam ser excluídos",
+                    content = @Content(schema = @Schema(implementation = BatchDeleteResultDto.class))),
             @ApiResponse(responseCode = "400", description = "Lista de chaves inválida"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     @DeleteMapping("/batch")
-    public ResponseEntity<Map<String, Object>> deleteMultipleFiles(
+    public ResponseEntity<BatchDeleteResultDto> deleteMultipleFiles(
             @Parameter(description = "Lista de chaves dos arquivos a serem excluídos", required = true)
             @RequestBody @NotEmpty List<@NotBlank String> keys) {
 
         logger.info("Recebida requisição para excluir {} arquivos", keys.size());
 
-        int deletedCount = fileService.deleteMultipleFiles(keys);
-
-        Map<String, Object> response = Map.of(
-                "totalRequested", keys.size(),
-                "deletedCount", deletedCount,
-                "failedCount", keys.size() - deletedCount,
-                "message", String.format("%d de %d arquivos excluídos com sucesso",
-                        deletedCount, keys.size())
-        );
+        BatchDeleteResultDto result = fileService.deleteFiles(keys);
 
         logger.info("Exclusão múltipla concluída: {} sucessos de {} solicitados",
-                deletedCount, keys.size());
+                result.deletedCount(), result.totalRequested());
 
-        return ResponseEntity.ok(response);
+        HttpStatus status = result.isAllDeleted() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    @Operation(
+            summary = "Excluir arquivos por prefixo",
+            description = "Remove todos os arquivos de um prefixo (ex.: files/2024/01/), excluindo cada página " +
+                    "da listagem em paralelo enquanto a próxima é listada. O progresso é transmitido em NDJSON, " +
+                    "um registro por página excluída e um registro final com done = true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progresso da exclusão transmitido",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = PrefixDeleteProgressDto.class))),
+            @ApiResponse(responseCode = "400", description = "Prefixo inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @DeleteMapping(value = "/by-prefix", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> deleteByPrefix(
+            @Parameter(description = "Prefixo dos arquivos a excluir", required = true)
+            @RequestParam @NotBlank String prefix,
+            WebRequest webRequest) {
+
+        logger.info("Recebida requisição para excluir arquivos com prefixo: {}", prefix);
+
+        // A exclusão de prefixos grandes pode ser longa
+        extendAsyncTimeout(webRequest, streamingTimeout);
+
+        StreamingResponseBody body = outputStream -> {
+            PrefixDeleteProgressDto result = fileService.deleteByPrefix(prefix, progress -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(progress));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException e) {
+                    // Cliente desconectado: interrompe a exclusão
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            logger.info("Exclusão por prefixo concluída: {} arquivos excluídos de {}",
+                    result.deletedCount(), prefix);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(
@@ -333,6 +686,215 @@ public class FileController {
         return ResponseEntity.ok(presignedUrl);
     }
 
+    @Operation(
+            summary = "Gerar URLs pré-assinadas para download em lote",
+            description = "Gera URLs temporárias de download para várias chaves em uma única requisição. " +
+                    "Com existenceCheck = CACHED (padrão), apenas o filtro de chaves e o cache de metadados " +
+                    "são consultados, sem chamadas ao S3; HEAD confirma cada chave e NONE não verifica."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "URLs pré-assinadas geradas com sucesso",
+                    content = @Content(schema = @Schema(implementation = PresignedUrlBatchDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos ou acima do limite"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/presigned-url/download/batch")
+    public ResponseEntity<PresignedUrlBatchDto> generatePresignedUrlsForDownload(
+            @Parameter(description = "Lista de chaves dos arquivos", required = true)
+            @RequestBody @NotEmpty List<@NotBlank String> keys,
+
+            @Parameter(description = "Duração da validade em minutos (padrão: 60, máximo: 1440)")
+            @RequestParam(defaultValue = "60") @Min(1) @Max(1440) int durationMinutes,
+
+            @Parameter(description = "Verificação de existência das chaves antes de assinar")
+            @RequestParam(defaultValue = "CACHED") PresignedUrlBatchDto.ExistenceCheck existenceCheck) {
+
+        logger.info("Recebida requisição para gerar {} URLs pré-assinadas de download ({}min)",
+                keys.size(), durationMinutes);
+
+        PresignedUrlBatchDto result = fileService.generatePresignedUrlsForDownload(
+                keys, Duration.ofMinutes(durationMinutes), existenceCheck);
+
+        logger.info("URLs pré-assinadas geradas para download: {} de {}", result.generated(), result.requested());
+
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Gerar URLs pré-assinadas para upload em lote",
+            description = "Gera URLs temporárias de upload direto para vários arquivos em uma única requisição."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "URLs pré-assinadas geradas com sucesso",
+                    content = @Content(schema = @Schema(implementation = PresignedUrlBatchDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos ou acima do limite"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/presigned-url/upload/batch")
+    public ResponseEntity<PresignedUrlBatchDto> generatePresignedUrlsForUpload(
+            @Parameter(description = "Arquivos a serem enviados", required = true)
+            @RequestBody @NotEmpty List<@Valid PresignedUploadRequestDto> files,
+
+            @Parameter(description = "Duração da validade em minutos (padrão: 60, máximo: 1440)")
+            @RequestParam(defaultValue = "60") @Min(1) @Max(1440) int durationMinutes) {
+
+        logger.info("Recebida requisição para gerar {} URLs pré-assinadas de upload ({}min)",
+                files.size(), durationMinutes);
+
+        PresignedUrlBatchDto result = fileService.generatePresignedUrlsForUpload(
+                files, Duration.ofMinutes(durationMinutes));
+
+        logger.info("URLs pré-assinadas geradas para upload: {}", result.generated());
+
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Iniciar upload multipart direto",
+            description = "Inicia um upload multipart para envio direto ao S3, sem passar pela aplicação. " +
+                    "O cliente solicita URLs pré-assinadas para as partes, envia cada parte ao S3 (em paralelo) " +
+                    "e conclui o upload com os ETags devolvidos."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload iniciado",
+                    content = @Content(schema = @Schema(implementation = MultipartUploadDto.class))),
+            @ApiResponse(responseCode = "400", description = "Nome, extensão ou tamanho inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/multipart/initiate")
+    public ResponseEntity<MultipartUploadDto> initiateMultipartUpload(
+            @Parameter(description = "Nome do arquivo", required = true)
+            @RequestParam @NotBlank String fileName,
+
+            @Parameter(description = "Tipo de conteúdo (MIME type); se ausente, é deduzido da extensão")
+            @RequestParam(required = false) String contentType,
+
+            @Parameter(description = "Tamanho total do arquivo em bytes, para o cálculo do tamanho das partes")
+            @RequestParam(required = false) Long size) {
+
+        logger.info("Recebida requisição para iniciar upload multipart direto: {}", fileName);
+
+        MultipartUploadDto upload = fileService.initiateMultipartUpload(fileName, contentType, size);
+
+        logger.info("Upload multipart direto iniciado: {} (UploadId: {})", upload.key(), upload.uploadId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(upload);
+    }
+
+    @Operation(
+            summary = "Gerar URLs pré-assinadas das partes",
+            description = "Gera URLs de PUT para um intervalo de partes de um upload multipart. " +
+                    "O ETag devolvido pelo S3 em cada PUT deve ser guardado para a conclusão."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "URLs pré-assinadas geradas com sucesso",
+                    content = @Content(schema = @Schema(implementation = PresignedPartsDto.class))),
+            @ApiResponse(responseCode = "400", description = "Intervalo de partes inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/multipart/{uploadId}/parts/presign")
+    public ResponseEntity<PresignedPartsDto> presignMultipartParts(
+            @Parameter(description = "Identificador do upload", required = true)
+            @PathVariable String uploadId,
+
+            @Parameter(description = "Chave do arquivo no S3", required = true)
+            @RequestParam @NotBlank String key,
+
+            @Parameter(description = "Número da primeira parte (padrão: 1)")
+            @RequestParam(defaultValue = "1") @Min(1) @Max(10000) int firstPart,
+
+            @Parameter(description = "Quantidade de partes", required = true)
+            @RequestParam @Min(1) @Max(10000) int partCount,
+
+            @Parameter(description = "Duração da validade em minutos (padrão: 60, máximo: 1440)")
+            @RequestParam(defaultValue = "60") @Min(1) @Max(1440) int durationMinutes) {
+
+        logger.info("Recebida requisição para gerar URLs de {} partes: {} (UploadId: {})",
+                partCount, key, uploadId);
+
+        PresignedPartsDto parts = fileService.presignMultipartParts(key, uploadId, firstPart, partCount,
+                Duration.ofMinutes(durationMinutes));
+
+        return ResponseEntity.ok(parts);
+    }
+
+    @Operation(
+            summary = "Listar partes enviadas",
+            description = "Lista as partes já recebidas pelo S3, para retomar um upload interrompido."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Partes listadas"),
+            @ApiResponse(responseCode = "404", description = "Upload não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/multipart/{uploadId}/parts")
+    public ResponseEntity<List<MultipartPartDto>> listMultipartParts(
+            @Parameter(description = "Identificador do upload", required = true)
+            @PathVariable String uploadId,
+
+            @Parameter(description = "Chave do arquivo no S3", required = true)
+            @RequestParam @NotBlank String key) {
+
+        logger.info("Recebida requisição para listar partes: {} (UploadId: {})", key, uploadId);
+
+        return ResponseEntity.ok(fileService.listMultipartParts(key, uploadId));
+    }
+
+    @Operation(
+            summary = "Concluir upload multipart direto",
+            description = "Conclui o upload com o número e o ETag de cada parte enviada."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Arquivo criado",
+                    content = @Content(schema = @Schema(implementation = FileInfoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Partes inválidas ou fora de ordem"),
+            @ApiResponse(responseCode = "404", description = "Upload não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/multipart/{uploadId}/complete")
+    public ResponseEntity<FileInfoDto> completeMultipartUpload(
+            @Parameter(description = "Identificador do upload", required = true)
+            @PathVariable String uploadId,
+
+            @Parameter(description = "Chave do arquivo no S3", required = true)
+            @RequestParam @NotBlank String key,
+
+            @Parameter(description = "Partes enviadas", required = true)
+            @RequestBody @NotEmpty List<@Valid MultipartPartDto> parts) {
+
+        logger.info("Recebida requisição para concluir upload multipart: {} ({} partes)", key, parts.size());
+
+        FileInfoDto fileInfo = fileService.completeMultipartUpload(key, uploadId, parts);
+
+        logger.info("Upload multipart direto concluído: {} ({})", key, fileInfo.getFormattedSize());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(fileInfo);
+    }
+
+    @Operation(
+            summary = "Abortar upload multipart direto",
+            description = "Cancela o upload e descarta as partes já enviadas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Upload abortado"),
+            @ApiResponse(responseCode = "404", description = "Upload não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @DeleteMapping("/multipart/{uploadId}")
+    public ResponseEntity<Void> abortMultipartUpload(
+            @Parameter(description = "Identificador do upload", required = true)
+            @PathVariable String uploadId,
+
+            @Parameter(description = "Chave do arquivo no S3", required = true)
+            @RequestParam @NotBlank String key) {
+
+        logger.info("Recebida requisição para abortar upload multipart: {} (UploadId: {})", key, uploadId);
+
+        fileService.abortMultipartUpload(key, uploadId);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(
             summary = "Verificar existência de arquivo",
             description = "Verifica se um arquivo existe no S3 sem baixá-lo."
@@ -361,6 +923,31 @@ public class FileController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Obter informações de vários arquivos",
+            description = "Retorna os metadados de várias chaves em uma única requisição, com consultas " +
+                    "paralelas ao S3. Chaves inexistentes são listadas em 'notFound'."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consulta realizada",
+                    content = @Content(schema = @Schema(implementation = FileInfoBatchDto.class))),
+            @ApiResponse(responseCode = "400", description = "Lista de chaves inválida ou acima do limite"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @PostMapping("/info/batch")
+    public ResponseEntity<FileInfoBatchDto> getFilesInfo(
+            @Parameter(description = "Lista de chaves dos arquivos", required = true)
+            @RequestBody @NotEmpty List<@NotBlank String> keys) {
+
+        logger.info("Recebida requisição de informações para {} arquivos", keys.size());
+
+        FileInfoBatchDto result = fileService.getFilesInfo(keys);
+
+        logger.info("Informações obtidas: {} de {} arquivos encontrados", result.found(), result.requested());
+
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
             summary = "Copiar arquivo",
             description = "Cria uma cópia de um arquivo existente com uma nova chave."
@@ -390,39 +977,79 @@ public class FileController {
     }
 
     @Operation(
-            summary = "Estatísticas do bucket",
-            description = "Retorna estatísticas gerais sobre os arquivos no bucket."
+            summary = "Copiar ou mover arquivos por prefixo",
+            description = "Copia todos os arquivos de um prefixo para outro, preservando o restante da chave " +
+                    "(ex.: files/2024/01/a.pdf -> arquivo/2024/01/a.pdf). As cópias são feitas no próprio S3, " +
+                    "em paralelo, com cópia multipart para arquivos grandes. Com move = true, as origens " +
+                    "copiadas são excluídas em lote."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Todos os arquivos foram processados",
+                    content = @Content(schema = @Schema(implementation = PrefixCopyResultDto.class))),
+            @ApiResponse(responseCode = "207", description = "Um ou mais arquivos falharam (ver 'failed')",
+                    content = @Content(schema = @Schema(implementation = PrefixCopyResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Prefixos inválidos"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getBucketStats() {
-        logger.info("Recebida requisição para obter estatísticas do bucket");
+    @PostMapping("/copy/by-prefix")
+    public ResponseEntity<PrefixCopyResultDto> copyByPrefix(
+            @Parameter(description = "Prefixo origem", required = true)
+            @RequestParam @NotBlank String sourcePrefix,
 
-        List<FileInfoDto> allFiles = fileService.listAllFiles();
+            @Parameter(description = "Prefixo destino", required = true)
+            @RequestParam String destinationPrefix,
 
-        long totalFiles = allFiles.size();
-        long totalSize = allFiles.stream().mapToLong(FileInfoDto::size).sum();
+            @Parameter(description = "Exclui as origens após a cópia")
+            @RequestParam(defaultValue = "false") boolean move) {
 
-        // Agrupa por extensão
-        Map<String, Long> filesByExtension = allFiles.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        file -> br.com.thiagobianeck.awss3poc.util.FileUtils.getFileExtension(file.fileName()).toLowerCase(),
-                        java.util.stream.Collectors.counting()));
+        logger.info("Recebida requisição para {} arquivos por prefixo: {} -> {}",
+                move ? "mover" : "copiar", sourcePrefix, destinationPrefix);
 
-        Map<String, Object> stats = Map.of(
-                "totalFiles", totalFiles,
-                "totalSize", totalSize,
-                "totalSizeFormatted", br.com.thiagobianeck.awss3poc.util.FileUtils.formatFileSize(totalSize),
-                "filesByExtension", filesByExtension,
-                "lastUpdated", java.time.Instant.now()
-        );
+        PrefixCopyResultDto result = fileService.copyByPrefix(sourcePrefix, destinationPrefix, move);
+
+        logger.info("Cópia por prefixo concluída: {}", result.message());
+
+        HttpStatus status = result.isAllProcessed() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
 
-        logger.info("Estatísticas calculadas: {} arquivos, {} total",
-                totalFiles, br.com.thiagobianeck.awss3poc.util.FileUtils.formatFileSize(totalSize));
+    @Operation(
+            summary = "Estatísticas do bucket",
+            description = "Retorna estatísticas gerais sobre os arquivos no bucket. " +
+                    "Os valores são mantidos incrementalmente e reconciliados periodicamente com o bucket."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
+                    content = @Content(schema = @Schema(implementation = BucketStatsDto.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<BucketStatsDto> getBucketStats() {
+        logger.info("Recebida requisição para obter estatísticas do bucket");
+
+        // Contadores mantidos incrementalmente: não há varredura do bucket por requisição
+        BucketStatsDto stats = bucketStatsService.getStats();
+
+        logger.info("Estatísticas obtidas: {} arquivos, {} total",
+                stats.totalFiles(), stats.totalSizeFormatted());
 
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    /**
+     * Estende o timeout assíncrono apenas desta requisição
+     * O StreamingResponseBody usaria o timeout padrão (spring.mvc.async.request-timeout), que vale para
+     * todos os endpoints assíncronos; o interceptor o ajusta logo antes do início do processamento assíncrono
+     */
+    private static void extendAsyncTimeout(WebRequest webRequest, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(STREAMING_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeout.toMillis());
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.thiagobianeck.awss3poc.controller;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FileStreamDto;
+import br.com.thiagobianeck.awss3poc.dto.UploadResponseDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.exception.InvalidRangeException;
+import br.com.thiagobianeck.awss3poc.service.ReactiveFileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Rotas funcionais da API reativa de arquivos (upload e download em streaming)
+ * Atendidas pelo servidor Reactor Netty próprio, ao lado dos endpoints MVC
+ *
+ * @author Bianeck
+ */
+@Component
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveFileHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveFileHandler.class);
+
+    private final ReactiveFileService reactiveFileService;
+
+    public ReactiveFileHandler(ReactiveFileService reactiveFileService) {
+        this.reactiveFileService = reactiveFileService;
+    }
+
+    /**
+     * Rotas expostas pelo servidor reativo
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .PUT("/files/upload/{filename}", this::upload)
+                .GET("/files/download/{*key}", this::download)
+                .GET("/files/info/{*key}", this::info)
+                .onError(Throwable.class, this::handleError)
+                .build();
+    }
+
+    /**
+     * Upload do corpo bruto da requisição (Content-Length obrigatório), enviado ao S3 à medida que chega
+     */
+    Mono<ServerResponse> upload(ServerRequest request) {
+        String fileName = request.pathVariable("filename");
+        OptionalLong contentLength = request.headers().contentLength();
+
+        logger.info("Recebida requisição de upload reativo para arquivo: {}", fileName);
+
+        if (contentLength.isEmpty()) {
+            return errorResponse(request, HttpStatus.LENGTH_REQUIRED, "Content-Length obrigatório",
+                    "O upload em streaming exige o tamanho do arquivo no header Content-Length");
+        }
+
+        return reactiveFileService.uploadFile(fileName, contentLength.getAsLong(), request.bodyToFlux(DataBuffer.class))
+                .flatMap(fileInfo -> ServerResponse.status(HttpStatus.CREATED)
+                        .bodyValue(UploadResponseDto.success(fileInfo)));
+    }
+
+    /**
+     * Download em streaming com suporte a Range, If-Range, If-None-Match e If-Modified-Since
+     */
+    Mono<ServerResponse> download(ServerRequest request) {
+        String key = pathKey(request);
+        HttpHeaders requestHeaders = request.headers().asHttpHeaders();
+
+        logger.info("Recebida requisição de download reativo para arquivo: {}", key);
+
+        DownloadConditions conditions = DownloadResponses.toDownloadConditions(requestHeaders);
+
+        return reactiveFileService.openDownload(key, conditions).flatMap(download -> {
+            if (download.isNotModified()) {
+                logger.info("Arquivo não modificado: {}", key);
+                return notModified(download.fileInfo());
+            }
+            return content(download);
+        });
+    }
+
+    Mono<ServerResponse> info(ServerRequest request) {
+        String key = pathKey(request);
+
+        logger.info("Recebida requisição reativa de informações para arquivo: {}", key);
+
+        return reactiveFileService.getFileInfo(key).flatMap(fileInfo -> {
+            var response = ServerResponse.ok()
+                    .eTag(fileInfo.eTag())
+                    .cacheControl(DownloadResponses.cacheControl());
+            if (fileInfo.lastModified() != null) {
+                response.lastModified(fileInfo.lastModified());
+            }
+            return response.bodyValue(fileInfo);
+        });
+    }
+
+    private Mono<ServerResponse> content(FileStreamDto download) {
+        FileInfoDto fileInfo = download.fileInfo();
+
+        var response = ServerResponse.status(download.isPartial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        String.format("attachment; filename='%s'", fileInfo.fileName()))
+                .header(HttpHeaders.CONTENT_TYPE, fileInfo.contentType())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentLength(download.contentLength())
+                .eTag(fileInfo.eTag())
+                .lastModified(fileInfo.lastModified())
+                .cacheControl(DownloadResponses.cacheControl());
+
+        if (download.isPartial()) {
+            response.header(HttpHeaders.CONTENT_RANGE, download.contentRange());
+        }
+
+        return response.body(BodyInserters.fromDataBuffers(download.content()));
+    }
+
+    private Mono<ServerResponse> notModified(FileInfoDto fileInfo) {
+        var response = ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(fileInfo.eTag())
+                .cacheControl(DownloadResponses.cacheControl());
+        if (fileInfo.lastModified() != null) {
+            response.lastModified(fileInfo.lastModified());
+        }
+        return response.build();
+    }
+
+    /**
+     * Tradução das exceções para a mesma estrutura de erro do GlobalExceptionHandler
+     */
+    private Mono<ServerResponse> handleError(Throwable ex, ServerRequest request) {
+        return switch (ex) {
+            case FileNotFoundException e -> {
+                logger.warn("Arquivo não encontrado: {}", e.getMessage());
+                yield errorResponse(request, HttpStatus.NOT_FOUND, "Arquivo não encontrado", e.getMessage());
+            }
+            case FileUploadException e -> {
+                logger.error("Erro no upload de arquivo: {}", e.getMessage(), e);
+                yield errorResponse(request, HttpStatus.BAD_REQUEST, "Erro no upload do arquivo", e.getMessage());
+            }
+            case InvalidRangeException e -> {
+                logger.warn("Intervalo inválido: {}", e.getMessage());
+                yield ServerResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + e.getObjectSize())
+                        .bodyValue(createErrorResponse(request, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
+                                "Intervalo inválido", e.getMessage()));
+            }
+            case IllegalArgumentException e -> {
+                logger.warn("Argumento inválido: {}", e.getMessage());
+                yield errorResponse(request, HttpStatus.BAD_REQUEST, "Argumento inválido", e.getMessage());
+            }
+            default -> {
+                logger.error("Erro interno não mapeado: {}", ex.getMessage(), ex);
+                yield errorResponse(request, HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor",
+                        "Ocorreu um erro inesperado. Tente novamente mais tarde.");
+            }
+        };
+    }
+
+    private Mono<ServerResponse> errorResponse(ServerRequest request, HttpStatus status,
+                                               String error, String message) {
+        return ServerResponse.status(status).bodyValue(createErrorResponse(request, status, error, message));
+    }
+
+    private Map<String, Object> createErrorResponse(ServerRequest request, HttpStatus status,
+                                                    String error, String message) {
+        return Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", status.value(),
+                "error", error,
+                "message", message,
+                "path", request.path()
+        );
+    }
+
+    /**
+     * O padrão {*key} captura o restante do caminho com a barra inicial
+     */
+    private static String pathKey(ServerRequest request) {
+        return request.pathVariable("key").substring(1);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma exclusão em lote
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Resultado da exclusão em lote, com as chaves excluídas e as que falharam")
+public record BatchDeleteResultDto(
+
+        @Schema(description = "Mensagem descritiva do resultado",
+                example = "998 de 1000 arquivos excluídos com sucesso")
+        String message,
+
+        @Schema(description = "Quantidade de chaves solicitadas", example = "1000")
+        int totalRequested,
+
+        @Schema(description = "Quantidade de chaves excluídas", example = "998")
+        int deletedCount,
+
+        @Schema(description = "Quantidade de chaves que não puderam ser excluídas", example = "2")
+        int failedCount,
+
+        @Schema(description = "Chaves excluídas")
+        List<String> deleted,
+
+        @Schema(description = "Chaves que não puderam ser excluídas, com o código de erro do S3")
+        List<Failure> failed
+) {
+
+    /**
+     * Falha na exclusão de uma chave
+     */
+    @Schema(description = "Falha na exclusão de uma chave")
+    public record Failure(
+
+            @Schema(description = "Chave do arquivo", example = "files/2024/01/documento-uuid.pdf")
+            String key,
+
+            @Schema(description = "Código de erro do S3", example = "AccessDenied")
+            String code,
+
+            @Schema(description = "Mensagem de erro do S3", example = "Access Denied")
+            String message
+    ) {
+    }
+
+    /**
+     * Cria o resultado a partir das chaves excluídas e das falhas
+     */
+    public static BatchDeleteResultDto of(int totalRequested, List<String> deleted, List<Failure> failed) {
+        String message = String.format("%d de %d arquivos excluídos com sucesso",
+                deleted.size(), totalRequested);
+        return new BatchDeleteResultDto(message, totalRequested, deleted.size(), failed.size(), deleted, failed);
+    }
+
+    /**
+     * Indica se todas as chaves foram excluídas
+     */
+    public boolean isAllDeleted() {
+        return failed.isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO com as estatísticas do bucket
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Estatísticas gerais dos arquivos no bucket")
+public record BucketStatsDto(
+
+        @Schema(description = "Quantidade total de arquivos", example = "1250")
+        long totalFiles,
+
+        @Schema(description = "Tamanho total em bytes", example = "52428800")
+        long totalSize,
+
+        @Schema(description = "Tamanho total formatado", example = "50.0 MB")
+        String totalSizeFormatted,
+
+        @Schema(description = "Quantidade de arquivos por extensão")
+        Map<String, Long> filesByExtension,
+
+        @Schema(description = "Data da última alteração das estatísticas")
+        Instant lastUpdated,
+
+        @Schema(description = "Data da última reconciliação com o bucket (ausente antes da primeira)")
+        Instant lastReconciled
+) {
+}
@@ -0,0 +1,55 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import java.time.Instant;
+
+/**
+ * Intervalo e condições de um download, já no formato enviado ao GetObject do S3
+ * Todos os campos são opcionais (null); o If-Range só vale junto com o intervalo
+ *
+ * @param range Intervalo no formato HTTP ("bytes=0-99", "bytes=-500", "bytes=100-")
+ * @param ifRange ETag forte ou data (RFC 1123) da cópia parcial do cliente
+ * @param ifNoneMatch ETag já conhecido pelo cliente
+ * @param ifModifiedSince Data da cópia do cliente
+ * @author Bianeck
+ */
+public record DownloadConditions(
+
+        String range,
+
+        String ifRange,
+
+        String ifNoneMatch,
+
+        Instant ifModifiedSince
+) {
+
+    private static final DownloadConditions NONE = new DownloadConditions(null, null, null, null);
+
+    /**
+     * Download do arquivo completo, sem condições
+     */
+    public static DownloadConditions none() {
+        return NONE;
+    }
+
+    /**
+     * Download de um intervalo, sem condições
+     */
+    public static DownloadConditions range(String range) {
+        return new DownloadConditions(range, null, null, null);
+    }
+
+    /**
+     * Download condicional do arquivo completo (If-None-Match / If-Modified-Since)
+     */
+    public static DownloadConditions ifNotModified(String ifNoneMatch, Instant ifModifiedSince) {
+        return new DownloadConditions(null, null, ifNoneMatch, ifModifiedSince);
+    }
+
+    /**
+     * As mesmas condições para o arquivo completo: usado quando o If-Range não corresponde mais
+     */
+    public DownloadConditions withoutRange() {
+        return ifNotModified(ifNoneMatch, ifModifiedSince);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Resultado de um download: metadados do objeto e o stream do conteúdo,
+ * ambos obtidos da mesma resposta do GetObject
+ * Não é serializado; o conteúdo deve ser consumido (e fechado) uma única vez
+ *
+ * @author Bianeck
+ */
+public record FileDownloadDto(
+
+        FileInfoDto fileInfo,
+
+        Resource content,
+
+        long contentLength,
+
+        String contentRange
+) {
+
+    /**
+     * Cria um download do objeto completo
+     */
+    public static FileDownloadDto full(FileInfoDto fileInfo, Resource content) {
+        return new FileDownloadDto(fileInfo, content, fileInfo.size(), null);
+    }
+
+    /**
+     * Cria um download parcial (resposta de um GET com Range)
+     */
+    public static FileDownloadDto partial(FileInfoDto fileInfo, Resource content,
+                                          long contentLength, String contentRange) {
+        return new FileDownloadDto(fileInfo, content, contentLength, contentRange);
+    }
+
+    /**
+     * Cria um resultado sem conteúdo para um GET condicional cujo arquivo não mudou (304)
+     * Apenas key, ETag e data de modificação estão preenchidos em {@code fileInfo}
+     */
+    public static FileDownloadDto notModified(FileInfoDto fileInfo) {
+        return new FileDownloadDto(fileInfo, null, 0, null);
+    }
+
+    /**
+     * Indica se o arquivo não foi modificado e nenhum conteúdo foi aberto
+     */
+    public boolean isNotModified() {
+        return content == null;
+    }
+
+    /**
+     * Indica se o conteúdo é apenas um intervalo do objeto
+     */
+    public boolean isPartial() {
+        return contentRange != null;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO com o resultado da consulta de metadados de vários arquivos
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Metadados de vários arquivos consultados em uma única requisição")
+public record FileInfoBatchDto(
+
+        @Schema(description = "Quantidade de chaves distintas consultadas", example = "3")
+        int requested,
+
+        @Schema(description = "Quantidade de arquivos encontrados", example = "2")
+        int found,
+
+        @Schema(description = "Informações dos arquivos encontrados, por chave")
+        Map<String, FileInfoDto> files,
+
+        @Schema(description = "Chaves que não existem no bucket", example = "[\"files/2024/01/removido.pdf\"]")
+        List<String> notFound,
+
+        @Schema(description = "Chaves cuja consulta falhou no S3 e podem ser consultadas novamente")
+        List<String> failed
+) {
+
+    /**
+     * Cria o resultado a partir dos arquivos encontrados e das chaves não encontradas ou com falha
+     */
+    public static FileInfoBatchDto of(Map<String, FileInfoDto> files, List<String> notFound, List<String> failed) {
+        return new FileInfoBatchDto(files.size() + notFound.size() + failed.size(), files.size(),
+                files, notFound, failed);
+    }
+}
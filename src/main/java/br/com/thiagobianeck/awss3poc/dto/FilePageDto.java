@@ -0,0 +1,35 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para uma página da listagem de arquivos
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Página da listagem de arquivos com cursor para a próxima página")
+public record FilePageDto(
+
+        @Schema(description = "Arquivos desta página")
+        List<FileInfoDto> files,
+
+        @Schema(description = "Quantidade de arquivos nesta página", example = "100")
+        int count,
+
+        @Schema(description = "Cursor opaco para buscar a próxima página (ausente na última página)",
+                example = "MXZCa3hWSnM4...")
+        String nextCursor,
+
+        @Schema(description = "Indica se existem mais páginas")
+        boolean hasMore
+) {
+
+    /**
+     * Cria uma página a partir dos arquivos e do cursor da próxima página
+     */
+    public static FilePageDto of(List<FileInfoDto> files, String nextCursor) {
+        return new FilePageDto(files, files.size(), nextCursor, nextCursor != null);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Resultado de um download reativo: metadados do objeto e o corpo do GetObject como Flux,
+ * consumido sob demanda (backpressure) até o cliente
+ * Não é serializado; o conteúdo deve ser assinado uma única vez
+ *
+ * @author Bianeck
+ */
+public record FileStreamDto(
+
+        FileInfoDto fileInfo,
+
+        Flux<DataBuffer> content,
+
+        long contentLength,
+
+        String contentRange
+) {
+
+    /**
+     * Cria um download do objeto completo
+     */
+    public static FileStreamDto full(FileInfoDto fileInfo, Flux<DataBuffer> content) {
+        return new FileStreamDto(fileInfo, content, fileInfo.size(), null);
+    }
+
+    /**
+     * Cria um download parcial (resposta de um GET com Range)
+     */
+    public static FileStreamDto partial(FileInfoDto fileInfo, Flux<DataBuffer> content,
+                                        long contentLength, String contentRange) {
+        return new FileStreamDto(fileInfo, content, contentLength, contentRange);
+    }
+
+    /**
+     * Cria um resultado sem conteúdo para um GET condicional cujo arquivo não mudou (304)
+     */
+    public static FileStreamDto notModified(FileInfoDto fileInfo) {
+        return new FileStreamDto(fileInfo, null, 0, null);
+    }
+
+    /**
+     * Indica se o arquivo não foi modificado e nenhum conteúdo foi aberto
+     */
+    public boolean isNotModified() {
+        return content == null;
+    }
+
+    /**
+     * Indica se o conteúdo é apenas um intervalo do objeto
+     */
+    public boolean isPartial() {
+        return contentRange != null;
+    }
+}
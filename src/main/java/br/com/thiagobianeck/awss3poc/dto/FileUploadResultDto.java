@@ -0,0 +1,40 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO com o resultado do upload de um arquivo dentro de um lote
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Resultado individual do upload de um arquivo em um lote")
+public record FileUploadResultDto(
+
+        @Schema(description = "Nome original do arquivo", example = "documento.pdf")
+        String fileName,
+
+        @Schema(description = "Indica se o upload deste arquivo foi realizado com sucesso")
+        boolean success,
+
+        @Schema(description = "Informações do arquivo enviado (apenas em caso de sucesso)")
+        FileInfoDto file,
+
+        @Schema(description = "Motivo da falha (apenas em caso de erro)",
+                example = "Erro no serviço de armazenamento")
+        String error
+) {
+
+    /**
+     * Cria um resultado de sucesso
+     */
+    public static FileUploadResultDto success(FileInfoDto file) {
+        return new FileUploadResultDto(file.fileName(), true, file, null);
+    }
+
+    /**
+     * Cria um resultado de falha
+     */
+    public static FileUploadResultDto failure(String fileName, String error) {
+        return new FileUploadResultDto(fileName, false, null, error);
+    }
+}
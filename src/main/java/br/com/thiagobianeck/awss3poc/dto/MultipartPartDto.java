@@ -0,0 +1,26 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO com uma parte de um upload multipart: o ETag devolvido pelo S3 no envio da parte
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Parte enviada de um upload multipart")
+public record MultipartPartDto(
+
+        @Schema(description = "Número da parte (1 a 10000)", example = "1")
+        @NotNull
+        Integer partNumber,
+
+        @Schema(description = "ETag devolvido pelo S3 no envio da parte", example = "\"d41d8cd98f00b204e9800998ecf8427e\"")
+        @NotBlank
+        String eTag,
+
+        @Schema(description = "Tamanho da parte em bytes (apenas na listagem)", example = "8388608")
+        Long size
+) {
+}
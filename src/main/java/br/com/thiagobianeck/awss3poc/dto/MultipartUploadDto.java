@@ -0,0 +1,33 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO com os dados de um upload multipart iniciado para envio direto ao S3
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Upload multipart iniciado; as partes são enviadas pelo cliente direto ao S3")
+public record MultipartUploadDto(
+
+        @Schema(description = "Identificador do upload no S3", example = "VXBsb2FkSWQtZXhlbXBsbw")
+        String uploadId,
+
+        @Schema(description = "Chave do arquivo no S3", example = "files/2024/01/video-a1b2c3d4.mp4")
+        String key,
+
+        @Schema(description = "Nome original do arquivo", example = "video.mp4")
+        String fileName,
+
+        @Schema(description = "Tipo de conteúdo do arquivo", example = "video/mp4")
+        String contentType,
+
+        @Schema(description = "Tamanho recomendado de cada parte em bytes (mínimo do S3: 5MB, exceto a última)",
+                example = "8388608")
+        long partSize,
+
+        @Schema(description = "Quantidade de partes com o tamanho recomendado (apenas se o tamanho foi informado)",
+                example = "125")
+        Integer partCount
+) {
+}
@@ -0,0 +1,58 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado da cópia (ou movimentação) de todos os arquivos de um prefixo
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Resultado da cópia ou movimentação de arquivos por prefixo")
+public record PrefixCopyResultDto(
+
+        @Schema(description = "Mensagem de resultado", example = "1200 arquivos movidos de files/2024/01/ para arquivo/2024/01/")
+        String message,
+
+        @Schema(description = "Prefixo origem", example = "files/2024/01/")
+        String sourcePrefix,
+
+        @Schema(description = "Prefixo destino", example = "arquivo/2024/01/")
+        String destinationPrefix,
+
+        @Schema(description = "Indica se os arquivos origem foram excluídos após a cópia")
+        boolean move,
+
+        @Schema(description = "Quantidade de arquivos copiados", example = "1200")
+        long copiedCount,
+
+        @Schema(description = "Total de bytes copiados", example = "52428800")
+        long copiedBytes,
+
+        @Schema(description = "Quantidade de arquivos origem excluídos (apenas na movimentação)", example = "1200")
+        long deletedCount,
+
+        @Schema(description = "Falhas de cópia ou de exclusão da origem, por chave origem")
+        List<BatchDeleteResultDto.Failure> failed
+) {
+
+    /**
+     * Cria o resultado com a mensagem padrão
+     */
+    public static PrefixCopyResultDto of(String sourcePrefix, String destinationPrefix, boolean move,
+                                         long copiedCount, long copiedBytes, long deletedCount,
+                                         List<BatchDeleteResultDto.Failure> failed) {
+        String message = String.format("%d arquivos %s de %s para %s",
+                copiedCount, move ? "movidos" : "copiados", sourcePrefix, destinationPrefix);
+        return new PrefixCopyResultDto(message, sourcePrefix, destinationPrefix, move,
+                copiedCount, copiedBytes, deletedCount, failed);
+    }
+
+    /**
+     * Indica se todos os arquivos foram processados sem falhas
+     */
+    public boolean isAllProcessed() {
+        return failed.isEmpty();
+    }
+}
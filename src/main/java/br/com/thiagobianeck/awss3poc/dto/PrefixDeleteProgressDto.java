@@ -0,0 +1,49 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO com o progresso (e o resultado final) de uma exclusão por prefixo
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Progresso da exclusão por prefixo; o último registro tem done = true")
+public record PrefixDeleteProgressDto(
+
+        @Schema(description = "Prefixo sendo excluído", example = "files/2024/01/")
+        String prefix,
+
+        @Schema(description = "Páginas da listagem já excluídas", example = "12")
+        int pagesProcessed,
+
+        @Schema(description = "Total de arquivos excluídos até o momento", example = "12000")
+        long deletedCount,
+
+        @Schema(description = "Total de arquivos que não puderam ser excluídos até o momento", example = "0")
+        long failedCount,
+
+        @Schema(description = "Falhas da página que gerou este registro (vazio no registro final)")
+        List<BatchDeleteResultDto.Failure> failures,
+
+        @Schema(description = "Indica se a exclusão terminou")
+        boolean done
+) {
+
+    /**
+     * Cria um registro de progresso após a exclusão de uma página
+     */
+    public static PrefixDeleteProgressDto progress(String prefix, int pagesProcessed, long deletedCount,
+                                                   long failedCount, List<BatchDeleteResultDto.Failure> failures) {
+        return new PrefixDeleteProgressDto(prefix, pagesProcessed, deletedCount, failedCount, failures, false);
+    }
+
+    /**
+     * Cria o registro final com os totais
+     */
+    public static PrefixDeleteProgressDto done(String prefix, int pagesProcessed,
+                                               long deletedCount, long failedCount) {
+        return new PrefixDeleteProgressDto(prefix, pagesProcessed, deletedCount, failedCount, List.of(), true);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO com as URLs pré-assinadas das partes de um upload multipart
+ *
+ * @author Bianeck
+ */
+@Schema(description = "URLs pré-assinadas para envio direto das partes ao S3")
+public record PresignedPartsDto(
+
+        @Schema(description = "Identificador do upload no S3", example = "VXBsb2FkSWQtZXhlbXBsbw")
+        String uploadId,
+
+        @Schema(description = "Chave do arquivo no S3", example = "files/2024/01/video-a1b2c3d4.mp4")
+        String key,
+
+        @Schema(description = "Data de expiração das URLs")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant expiresAt,
+
+        @Schema(description = "URL de PUT de cada parte; o cliente guarda o ETag de cada resposta")
+        List<Part> parts
+) {
+
+    /**
+     * URL pré-assinada de uma parte
+     */
+    @Schema(description = "URL pré-assinada de uma parte")
+    public record Part(
+
+            @Schema(description = "Número da parte", example = "1")
+            int partNumber,
+
+            @Schema(description = "URL pré-assinada para o PUT da parte")
+            String presignedUrl
+    ) {
+    }
+}
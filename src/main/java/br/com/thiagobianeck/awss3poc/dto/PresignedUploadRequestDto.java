@@ -0,0 +1,22 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO com um arquivo a ser enviado por URL pré-assinada em um lote
+ *
+ * @author Bianeck
+ */
+@Schema(description = "Arquivo para o qual será gerada uma URL pré-assinada de upload")
+public record PresignedUploadRequestDto(
+
+        @Schema(description = "Nome do arquivo", example = "foto.jpg")
+        @NotBlank
+        String fileName,
+
+        @Schema(description = "Tipo de conteúdo (MIME type); se ausente, é deduzido da extensão",
+                example = "image/jpeg")
+        String contentType
+) {
+}
@@ -0,0 +1,61 @@
+package br.com.thiagobianeck.awss3poc.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO com as URLs pré-assinadas geradas em lote
+ *
+ * @author Bianeck
+ */
+@Schema(description = "URLs pré-assinadas geradas em uma única requisição")
+public record PresignedUrlBatchDto(
+
+        @Schema(description = "Quantidade de itens solicitados", example = "500")
+        int requested,
+
+        @Schema(description = "Quantidade de URLs geradas", example = "498")
+        int generated,
+
+        @Schema(description = "URLs geradas, na ordem da requisição")
+        List<PresignedUrlDto> urls,
+
+        @Schema(description = "Chaves que não existem no bucket (apenas download)")
+        List<String> notFound,
+
+        @Schema(description = "Chaves cuja verificação de existência falhou no S3 (apenas download)")
+        List<String> failed
+) {
+
+    /**
+     * Como a existência das chaves é verificada antes de assinar uma URL de download
+     */
+    @Schema(description = "Verificação de existência antes de assinar URLs de download")
+    public enum ExistenceCheck {
+
+        /**
+         * Assina todas as chaves, sem nenhuma verificação
+         */
+        NONE,
+
+        /**
+         * Usa apenas o filtro de chaves e o cache de metadados, sem chamadas ao S3:
+         * descarta as chaves sabidamente inexistentes e assina as demais
+         */
+        CACHED,
+
+        /**
+         * Confirma cada chave, com HEADs paralelos para as que não estão em cache
+         */
+        HEAD
+    }
+
+    /**
+     * Cria o resultado a partir das URLs geradas e das chaves descartadas
+     */
+    public static PresignedUrlBatchDto of(List<PresignedUrlDto> urls, List<String> notFound, List<String> failed) {
+        return new PresignedUrlBatchDto(urls.size() + notFound.size() + failed.size(), urls.size(),
+                urls, notFound, failed);
+    }
+}
@@ -29,7 +29,10 @@ public record UploadResponseDto(
         Integer totalFiles,
 
         @Schema(description = "Tamanho total dos arquivos em bytes")
-        Long totalSize
+        Long totalSize,
+
+        @Schema(description = "Resultado individual de cada arquivo, incluindo as falhas")
+        List<FileUploadResultDto> results
 ) {
 
     /**
@@ -42,7 +45,8 @@ public record UploadResponseDto(
                 List.of(file),
                 Instant.now(),
                 1,
-                file.size()
+                file.size(),
+                List.of(FileUploadResultDto.success(file))
         );
     }
 
@@ -58,7 +62,34 @@ public record UploadResponseDto(
                 files,
                 Instant.now(),
                 files.size(),
-                totalSize
+                totalSize,
+                files.stream().map(FileUploadResultDto::success).toList()
+        );
+    }
+
+    /**
+     * Cria uma resposta a partir dos resultados individuais de um lote
+     * O upload só é considerado bem-sucedido se todos os arquivos foram enviados
+     */
+    public static UploadResponseDto fromResults(List<FileUploadResultDto> results) {
+        List<FileInfoDto> files = results.stream()
+                .filter(FileUploadResultDto::success)
+                .map(FileUploadResultDto::file)
+                .toList();
+        long totalSize = files.stream().mapToLong(FileInfoDto::size).sum();
+        boolean allSucceeded = files.size() == results.size();
+
+        return new UploadResponseDto(
+                allSucceeded,
+                allSucceeded
+                        ? String.format("%d arquivo(s) enviado(s) com sucesso", files.size())
+                        : String.format("%d de %d arquivo(s) enviado(s) com sucesso",
+                        files.size(), results.size()),
+                files,
+                Instant.now(),
+                results.size(),
+                totalSize,
+                results
         );
     }
 
@@ -72,7 +103,8 @@ public record UploadResponseDto(
                 List.of(),
                 Instant.now(),
                 0,
-                0L
+                0L,
+                List.of()
         );
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package br.com.thiagobianeck.awss3poc.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -78,6 +79,25 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    /**
+     * Trata intervalos (Range) que não podem ser atendidos
+     */
+    @ExceptionHandler(InvalidRangeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRangeException(
+            InvalidRangeException ex, WebRequest request) {
+
+        logger.warn("Intervalo inválido: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getObjectSize())
+                .body(createErrorResponse(
+                        HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(),
+                        "Intervalo inválido",
+                        ex.getMessage(),
+                        request.getDescription(false)
+                ));
+    }
+
     /**
      * Trata exceções específicas do AWS S3
      */
@@ -0,0 +1,32 @@
+package br.com.thiagobianeck.awss3poc.exception;
+
+/**
+ * Exceção lançada quando o intervalo (Range) solicitado não pode ser atendido
+ *
+ * @author Bianeck
+ */
+public class InvalidRangeException extends RuntimeException {
+
+    private final String key;
+    private final String range;
+    private final long objectSize;
+
+    public InvalidRangeException(String key, String range, long objectSize) {
+        super(String.format("Intervalo '%s' inválido para o arquivo '%s' (%d bytes)", range, key, objectSize));
+        this.key = key;
+        this.range = range;
+        this.objectSize = objectSize;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRange() {
+        return range;
+    }
+
+    public long getObjectSize() {
+        return objectSize;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante assíncrona das operações principais do {@link FileService}
+ * Os métodos retornam imediatamente; o resultado (ou a exceção) chega pelo CompletableFuture,
+ * sem ocupar a thread de quem chamou durante a latência do S3
+ * A implementação é escolhida por app.file.service-mode (sync ou async)
+ *
+ * @author Bianeck
+ */
+public interface AsyncFileService {
+
+    /**
+     * Faz upload de um único arquivo para o S3
+     *
+     * @param file Arquivo a ser enviado
+     * @return Informações do arquivo enviado
+     */
+    CompletableFuture<FileInfoDto> uploadFile(MultipartFile file);
+
+    /**
+     * Abre o download de um arquivo, opcionalmente parcial e condicional
+     * O futuro completa assim que os headers da resposta do S3 chegam; o conteúdo é lido sob demanda
+     *
+     * Se o arquivo mudou desde a cópia parcial do cliente (If-Range), o download é do arquivo completo
+     *
+     * @param key Chave do arquivo no S3
+     * @param conditions Intervalo e condições do download
+     * @return Metadados e stream do arquivo, ou apenas os validadores se não houve modificação
+     */
+    CompletableFuture<FileDownloadDto> openDownload(String key, DownloadConditions conditions);
+
+    /**
+     * Lista uma página de arquivos, com tamanho limitado e cursor para a próxima página
+     *
+     * @param prefix Prefixo para filtrar arquivos (opcional)
+     * @param pageSize Quantidade máxima de arquivos na página
+     * @param cursor Cursor retornado pela página anterior (opcional)
+     * @param startAfter Chave a partir da qual a listagem começa, usada apenas sem cursor (opcional)
+     * @return Página de arquivos
+     */
+    CompletableFuture<FilePageDto> listFiles(String prefix, int pageSize, String cursor, String startAfter);
+
+    /**
+     * Obtém informações de um arquivo específico
+     *
+     * @param key Chave do arquivo no S3
+     * @return Informações do arquivo
+     */
+    CompletableFuture<FileInfoDto> getFileInfo(String key);
+
+    /**
+     * Verifica se um arquivo existe no S3
+     *
+     * @param key Chave do arquivo
+     * @return true se o arquivo existe
+     */
+    CompletableFuture<Boolean> fileExists(String key);
+
+    /**
+     * Exclui um arquivo do S3
+     *
+     * @param key Chave do arquivo a ser excluído
+     * @return true se excluído com sucesso
+     */
+    CompletableFuture<Boolean> deleteFile(String key);
+}
@@ -0,0 +1,46 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.BucketStatsDto;
+
+/**
+ * Interface do serviço de estatísticas do bucket, mantidas de forma incremental
+ *
+ * @author Bianeck
+ */
+public interface BucketStatsService {
+
+    /**
+     * Registra a inclusão de um arquivo no bucket
+     *
+     * @param key Chave do arquivo no S3
+     * @param size Tamanho do arquivo em bytes
+     */
+    void recordAdded(String key, long size);
+
+    /**
+     * Registra a remoção de um arquivo do bucket
+     *
+     * @param key Chave do arquivo no S3
+     * @param size Tamanho do arquivo em bytes
+     */
+    void recordRemoved(String key, long size);
+
+    /**
+     * Retorna as estatísticas atuais, sem consultar o S3
+     *
+     * @return Estatísticas do bucket
+     */
+    BucketStatsDto getStats();
+
+    /**
+     * Recalcula as estatísticas com uma varredura completa do bucket,
+     * corrigindo desvios de alterações feitas fora da aplicação
+     */
+    void reconcile();
+
+    /**
+     * Agenda uma reconciliação em segundo plano, após alterações em massa cujo efeito
+     * nas estatísticas não foi registrado item a item
+     */
+    void requestReconcile();
+}
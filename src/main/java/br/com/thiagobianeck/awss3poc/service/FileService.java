@@ -1,12 +1,28 @@
 package br.com.thiagobianeck.awss3poc.service;
 
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.FileUploadResultDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartPartDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartUploadDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixCopyResultDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixDeleteProgressDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedPartsDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUploadRequestDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface do serviço de gerenciamento de arquivos no S3
@@ -23,6 +39,27 @@ public interface FileService {
      */
     FileInfoDto uploadFile(MultipartFile file);
 
+    /**
+     * Faz upload de um arquivo recebido como corpo bruto, de tamanho declarado
+     * O conteúdo segue direto para o S3 (PutObject ou multipart, conforme o tamanho)
+     *
+     * @param fileName Nome original do arquivo
+     * @param content Conteúdo do arquivo (não é fechado)
+     * @param contentLength Tamanho declarado do conteúdo em bytes
+     * @return Informações do arquivo enviado
+     */
+    FileInfoDto uploadFile(String fileName, InputStream content, long contentLength);
+
+    /**
+     * Faz upload de um arquivo de tamanho desconhecido lido em streaming (ex.: parte de um multipart/form-data)
+     * O conteúdo é enviado ao S3 à medida que é lido, sem cópia em disco
+     *
+     * @param fileName Nome original do arquivo
+     * @param content Conteúdo do arquivo (lido até o fim, não é fechado)
+     * @return Informações do arquivo enviado
+     */
+    FileInfoDto uploadStream(String fileName, InputStream content);
+
     /**
      * Faz upload de múltiplos arquivos para o S3
      *
@@ -31,14 +68,36 @@ public interface FileService {
      */
     List<FileInfoDto> uploadMultipleFiles(List<MultipartFile> files);
 
+    /**
+     * Faz upload de múltiplos arquivos em paralelo, com limite de concorrência
+     *
+     * @param files Lista de arquivos a serem enviados
+     * @return Resultado individual de cada arquivo, na mesma ordem da entrada
+     */
+    List<FileUploadResultDto> uploadFiles(List<MultipartFile> files);
+
     /**
      * Faz download de um arquivo do S3
+     * O Resource retornado é um stream aberto para o S3 e deve ser consumido (e fechado) uma única vez
      *
      * @param key Chave do arquivo no S3
-     * @return Resource contendo o arquivo
+     * @return Resource contendo o stream do arquivo
      */
     Resource downloadFile(String key);
 
+    /**
+     * Abre o download de um arquivo com uma única chamada ao S3,
+     * retornando o stream do conteúdo junto com os metadados do objeto
+     * Com intervalo, busca apenas os bytes pedidos; se o If-Range não corresponde mais, o arquivo completo
+     * Quando o arquivo não mudou (If-None-Match / If-Modified-Since), retorna um download sem conteúdo
+     * ({@link FileDownloadDto#isNotModified()})
+     *
+     * @param key Chave do arquivo no S3
+     * @param conditions Intervalo e condições do download ({@link DownloadConditions#none()} para nenhum)
+     * @return Metadados e stream do arquivo ou do intervalo, ou apenas os validadores se não houve modificação
+     */
+    FileDownloadDto openDownload(String key, DownloadConditions conditions);
+
     /**
      * Lista todos os arquivos do bucket
      *
@@ -54,6 +113,26 @@ public interface FileService {
      */
     List<FileInfoDto> listFilesByPrefix(String prefix);
 
+    /**
+     * Lista uma página de arquivos, com tamanho limitado e cursor para a próxima página
+     *
+     * @param prefix Prefixo para filtrar arquivos (opcional)
+     * @param pageSize Quantidade máxima de arquivos na página
+     * @param cursor Cursor retornado pela página anterior (opcional)
+     * @param startAfter Chave a partir da qual a listagem começa, usada apenas sem cursor (opcional)
+     * @return Página de arquivos
+     */
+    FilePageDto listFiles(String prefix, int pageSize, String cursor, String startAfter);
+
+    /**
+     * Percorre todos os arquivos de forma preguiçosa, buscando as páginas no S3 sob demanda
+     * Deve ser consumido uma única vez; erros do S3 surgem durante a iteração
+     *
+     * @param prefix Prefixo para filtrar arquivos (opcional)
+     * @return Stream com os arquivos
+     */
+    Stream<FileInfoDto> streamFiles(String prefix);
+
     /**
      * Obtém informações de um arquivo específico
      *
@@ -78,6 +157,24 @@ public interface FileService {
      */
     int deleteMultipleFiles(List<String> keys);
 
+    /**
+     * Exclui múltiplos arquivos do S3, em blocos paralelos, sem limite de quantidade de chaves
+     *
+     * @param keys Lista de chaves dos arquivos a serem excluídos
+     * @return Chaves excluídas e chaves que falharam, com o código de erro do S3
+     */
+    BatchDeleteResultDto deleteFiles(List<String> keys);
+
+    /**
+     * Exclui todos os arquivos de um prefixo, encadeando as páginas da listagem em exclusões paralelas
+     * A listagem da próxima página acontece enquanto as anteriores são excluídas
+     *
+     * @param prefix Prefixo dos arquivos a excluir (não pode ser vazio)
+     * @param progressListener Recebe um registro a cada página excluída e o registro final
+     * @return Resultado final com os totais
+     */
+    PrefixDeleteProgressDto deleteByPrefix(String prefix, Consumer<PrefixDeleteProgressDto> progressListener);
+
     /**
      * Gera URL pré-assinada para download
      *
@@ -87,6 +184,76 @@ public interface FileService {
      */
     PresignedUrlDto generatePresignedUrlForDownload(String key, Duration duration);
 
+    /**
+     * Gera URLs pré-assinadas para download de várias chaves em uma única chamada
+     *
+     * @param keys Chaves dos arquivos (duplicadas são assinadas uma única vez)
+     * @param duration Duração da validade das URLs
+     * @param existenceCheck Como a existência das chaves é verificada antes de assinar
+     * @return URLs geradas e chaves descartadas
+     */
+    PresignedUrlBatchDto generatePresignedUrlsForDownload(List<String> keys, Duration duration,
+                                                          PresignedUrlBatchDto.ExistenceCheck existenceCheck);
+
+    /**
+     * Gera URLs pré-assinadas para upload de vários arquivos em uma única chamada
+     *
+     * @param files Nome e tipo de conteúdo de cada arquivo
+     * @param duration Duração da validade das URLs
+     * @return URLs geradas, na ordem dos arquivos
+     */
+    PresignedUrlBatchDto generatePresignedUrlsForUpload(List<PresignedUploadRequestDto> files, Duration duration);
+
+    /**
+     * Inicia um upload multipart cujas partes serão enviadas pelo cliente direto ao S3
+     *
+     * @param fileName Nome original do arquivo
+     * @param contentType Tipo de conteúdo (se ausente, é deduzido da extensão)
+     * @param size Tamanho total do arquivo em bytes, se conhecido, para o cálculo do tamanho das partes
+     * @return Upload iniciado, com a chave gerada e o tamanho recomendado das partes
+     */
+    MultipartUploadDto initiateMultipartUpload(String fileName, String contentType, Long size);
+
+    /**
+     * Gera URLs pré-assinadas para o envio de um intervalo de partes de um upload multipart
+     *
+     * @param key Chave do arquivo no S3
+     * @param uploadId Identificador do upload
+     * @param firstPart Número da primeira parte
+     * @param partCount Quantidade de partes
+     * @param duration Duração da validade das URLs
+     * @return URLs de PUT de cada parte
+     */
+    PresignedPartsDto presignMultipartParts(String key, String uploadId, int firstPart, int partCount,
+                                            Duration duration);
+
+    /**
+     * Lista as partes já recebidas pelo S3, permitindo retomar um upload interrompido
+     *
+     * @param key Chave do arquivo no S3
+     * @param uploadId Identificador do upload
+     * @return Partes enviadas, em ordem
+     */
+    List<MultipartPartDto> listMultipartParts(String key, String uploadId);
+
+    /**
+     * Conclui um upload multipart com os ETags das partes enviadas pelo cliente
+     *
+     * @param key Chave do arquivo no S3
+     * @param uploadId Identificador do upload
+     * @param parts Número e ETag de cada parte
+     * @return Informações do arquivo criado
+     */
+    FileInfoDto completeMultipartUpload(String key, String uploadId, List<MultipartPartDto> parts);
+
+    /**
+     * Aborta um upload multipart, descartando as partes já enviadas
+     *
+     * @param key Chave do arquivo no S3
+     * @param uploadId Identificador do upload
+     */
+    void abortMultipartUpload(String key, String uploadId);
+
     /**
      * Gera URL pré-assinada para upload
      *
@@ -105,6 +272,15 @@ public interface FileService {
      */
     boolean fileExists(String key);
 
+    /**
+     * Obtém os metadados de vários arquivos com consultas HEAD paralelas
+     * Chaves com metadados em cache ou descartadas pelo filtro de chaves não vão ao S3
+     *
+     * @param keys Chaves dos arquivos (duplicadas são consultadas uma única vez)
+     * @return Arquivos encontrados, chaves inexistentes e chaves com falha na consulta
+     */
+    FileInfoBatchDto getFilesInfo(List<String> keys);
+
     /**
      * Copia um arquivo para um novo local no S3
      *
@@ -113,4 +289,16 @@ public interface FileService {
      * @return Informações do arquivo copiado
      */
     FileInfoDto copyFile(String sourceKey, String destinationKey);
+
+    /**
+     * Copia (ou move) todos os arquivos de um prefixo para outro, preservando o restante da chave
+     * As páginas da listagem são copiadas em paralelo e, na movimentação, as origens de cada
+     * página são excluídas em lote assim que suas cópias terminam
+     *
+     * @param sourcePrefix Prefixo origem (não pode ser vazio)
+     * @param destinationPrefix Prefixo destino (não pode estar contido no prefixo origem)
+     * @param move true para excluir as origens copiadas com sucesso
+     * @return Resultado com os totais e as falhas por chave origem
+     */
+    PrefixCopyResultDto copyByPrefix(String sourcePrefix, String destinationPrefix, boolean move);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FileStreamDto;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serviço reativo de arquivos: o conteúdo trafega como Flux entre o cliente HTTP e o S3AsyncClient,
+ * sem bloquear threads e respeitando a demanda (backpressure) nas duas pontas
+ *
+ * @author Bianeck
+ */
+public interface ReactiveFileService {
+
+    /**
+     * Envia para o S3 o conteúdo recebido em streaming, à medida que os blocos chegam
+     *
+     * @param fileName Nome original do arquivo
+     * @param contentLength Tamanho declarado do conteúdo em bytes
+     * @param content Corpo da requisição
+     * @return Informações do arquivo enviado
+     */
+    Mono<FileInfoDto> uploadFile(String fileName, long contentLength, Flux<DataBuffer> content);
+
+    /**
+     * Abre o download de um arquivo, opcionalmente parcial e condicional
+     * O Mono completa com os headers do S3; o corpo só é lido quando o Flux é assinado
+     * O If-Range é avaliado pelo S3 no próprio GET parcial; se o arquivo mudou, abre o arquivo completo
+     *
+     * @param key Chave do arquivo no S3
+     * @param conditions Intervalo e condições do download
+     * @return Metadados e corpo do arquivo, ou apenas os validadores se não houve modificação
+     */
+    Mono<FileStreamDto> openDownload(String key, DownloadConditions conditions);
+
+    /**
+     * Obtém informações de um arquivo específico
+     *
+     * @param key Chave do arquivo no S3
+     * @return Informações do arquivo
+     */
+    Mono<FileInfoDto> getFileInfo(String key);
+}
@@ -0,0 +1,427 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.exception.InvalidRangeException;
+import br.com.thiagobianeck.awss3poc.service.AsyncFileService;
+import br.com.thiagobianeck.awss3poc.service.BucketStatsService;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Implementação assíncrona do serviço de arquivos sobre o S3AsyncClient (app.file.service-mode=async)
+ * Nenhuma thread fica bloqueada aguardando o S3: a quantidade de operações em andamento
+ * é limitada pelo pool de conexões (aws.s3.http.max-connections), não pelo pool de threads do servlet
+ *
+ * @author Bianeck
+ */
+@Service
+@ConditionalOnProperty(name = "app.file.service-mode", havingValue = "async")
+public class AsyncFileServiceImpl implements AsyncFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncFileServiceImpl.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final S3MultipartUploader multipartUploader;
+    private final BucketStatsService bucketStatsService;
+    private final FileMetadataCache metadataCache;
+    private final KeyExistenceFilter keyExistenceFilter;
+    private final ExecutorService s3TaskExecutor;
+    private final S3FileInfoMapper fileInfoMapper;
+    private final String bucketName;
+
+    public AsyncFileServiceImpl(S3AsyncClient s3AsyncClient,
+                                S3MultipartUploader multipartUploader,
+                                BucketStatsService bucketStatsService,
+                                FileMetadataCache metadataCache,
+                                KeyExistenceFilter keyExistenceFilter,
+                                @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                                @Value("${aws.s3.bucket-name}") String bucketName,
+                                @Value("${aws.s3.endpoint}") String s3Endpoint,
+                                @Value("${app.file.dedup.enabled:false}") boolean dedupEnabled) {
+        // Os ponteiros do modo de deduplicação não têm corpo: o GetObject direto entregaria arquivos vazios
+        if (dedupEnabled) {
+            throw new IllegalStateException("app.file.dedup.enabled não é suportado com app.file.service-mode=async");
+        }
+
+        this.s3AsyncClient = s3AsyncClient;
+        this.multipartUploader = multipartUploader;
+        this.bucketStatsService = bucketStatsService;
+        this.metadataCache = metadataCache;
+        this.keyExistenceFilter = keyExistenceFilter;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.fileInfoMapper = new S3FileInfoMapper(bucketName, s3Endpoint);
+        this.bucketName = bucketName;
+
+        logger.info("AsyncFileService inicializado sobre o S3AsyncClient com bucket: {}", bucketName);
+    }
+
+    @Override
+    public CompletableFuture<FileInfoDto> uploadFile(MultipartFile file) {
+        logger.debug("Iniciando upload assíncrono do arquivo: {}", file.getOriginalFilename());
+
+        String originalFilename = file.getOriginalFilename();
+        CompletableFuture<String> upload;
+        String key;
+        String contentType;
+
+        try {
+            FileUtils.validateFile(file);
+
+            key = FileUtils.generateFileKey(originalFilename);
+            contentType = FileUtils.getContentType(originalFilename);
+            upload = putObject(key, file, contentType,
+                    FileServiceImpl.createFileMetadata(originalFilename, contentType));
+
+        } catch (IOException e) {
+            logger.error("Erro ao ler arquivo durante upload: {}", originalFilename, e);
+            return CompletableFuture.failedFuture(
+                    new FileUploadException(originalFilename, "Erro ao processar arquivo", e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return upload.handle((eTag, failure) -> {
+            if (failure != null) {
+                throw toUploadException(originalFilename, unwrap(failure));
+            }
+
+            logger.info("Upload realizado com sucesso - Key: {}, ETag: {}", key, eTag);
+            metadataCache.invalidate(key);
+            keyExistenceFilter.add(key);
+            bucketStatsService.recordAdded(key, file.getSize());
+
+            return FileInfoDto.of(
+                    originalFilename,
+                    key,
+                    file.getSize(),
+                    contentType,
+                    eTag,
+                    Instant.now(),
+                    fileInfoMapper.buildFileUrl(key)
+            );
+        });
+    }
+
+    @Override
+    public CompletableFuture<FileDownloadDto> openDownload(String key, DownloadConditions conditions) {
+        String range = conditions.range();
+        String ifRange = conditions.ifRange();
+        String ifNoneMatch = conditions.ifNoneMatch();
+        Instant ifModifiedSince = conditions.ifModifiedSince();
+        logger.debug("Iniciando download assíncrono do arquivo com key: {} (range: {})", key, range);
+
+        // If-Range como pré-condição do GET parcial: se o arquivo mudou, o S3 responde 412 sem corpo
+        String ifMatch = null;
+        Instant ifUnmodifiedSince = null;
+        if (range != null && ifRange != null) {
+            if (ifRange.startsWith("\"")) {
+                ifMatch = ifRange;
+            } else {
+                ifUnmodifiedSince = S3FileInfoMapper.parseHttpDate(ifRange);
+            }
+        }
+        boolean ifRangeSent = ifMatch != null || ifUnmodifiedSince != null;
+        // ETag fraco ou data inválida nunca correspondem: o intervalo é ignorado
+        String s3Range = ifRange != null && !ifRangeSent ? null : range;
+
+        var getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range(s3Range)
+                .ifMatch(ifMatch)
+                .ifUnmodifiedSince(ifUnmodifiedSince)
+                .ifNoneMatch(ifNoneMatch)
+                .ifModifiedSince(ifModifiedSince)
+                .build();
+
+        // O futuro completa com os headers da resposta; o corpo chega pelo stream à medida que é lido
+        return s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toBlockingInputStream())
+                .thenApply(objectStream -> toDownload(key, objectStream))
+                .exceptionallyCompose(failure -> {
+                    Throwable cause = unwrap(failure);
+                    if (!(cause instanceof S3Exception s3Exception)) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    if (s3Exception instanceof NoSuchKeyException) {
+                        logger.warn("Arquivo não encontrado para download: {}", key);
+                        return CompletableFuture.failedFuture(
+                                new FileNotFoundException("Arquivo não encontrado", key));
+                    }
+                    if (s3Exception.statusCode() == 304) {
+                        logger.debug("Arquivo não modificado, download dispensado: {}", key);
+                        return CompletableFuture.completedFuture(FileDownloadDto.notModified(
+                                fileInfoMapper.toNotModifiedFileInfo(key, ifNoneMatch, s3Exception)));
+                    }
+                    if (s3Exception.statusCode() == 412 && ifRangeSent) {
+                        logger.debug("If-Range não corresponde ao arquivo atual, enviando arquivo completo: {}", key);
+                        return openDownload(key, conditions.withoutRange());
+                    }
+                    if (s3Exception.statusCode() == 416) {
+                        logger.warn("Intervalo inválido para download: {} ({})", key, s3Range);
+                        // O erro do S3 já informa o tamanho do objeto; o HEAD fica como alternativa
+                        Long objectSize = S3FileInfoMapper.invalidRangeObjectSize(s3Exception);
+                        if (objectSize != null) {
+                            return CompletableFuture.failedFuture(
+                                    new InvalidRangeException(key, s3Range, objectSize));
+                        }
+                        return getFileInfo(key).thenApply(fileInfo -> {
+                            throw new InvalidRangeException(key, s3Range, fileInfo.size());
+                        });
+                    }
+                    logger.error("Erro do S3 durante download: {}", key, s3Exception);
+                    return CompletableFuture.failedFuture(
+                            new RuntimeException("Erro ao baixar arquivo do S3", s3Exception));
+                });
+    }
+
+    @Override
+    public CompletableFuture<FilePageDto> listFiles(String prefix, int pageSize, String cursor, String startAfter) {
+        logger.debug("Listando página de arquivos - prefixo: {}, tamanho: {}", prefix, pageSize);
+
+        ListObjectsV2Request listRequest;
+        try {
+            listRequest = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .maxKeys(pageSize)
+                    .continuationToken(FileServiceImpl.decodeCursor(cursor))
+                    .startAfter(startAfter)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return s3AsyncClient.listObjectsV2(listRequest)
+                .thenApply(response -> {
+                    List<FileInfoDto> files = response.contents().stream()
+                            .map(fileInfoMapper::toFileInfoDto)
+                            .toList();
+
+                    String nextCursor = Boolean.TRUE.equals(response.isTruncated())
+                            ? FileServiceImpl.encodeCursor(response.nextContinuationToken())
+                            : null;
+
+                    logger.info("Página listada: {} arquivos (mais páginas: {})", files.size(), nextCursor != null);
+                    return FilePageDto.of(files, nextCursor);
+                })
+                .exceptionallyCompose(failure -> {
+                    logger.error("Erro ao listar página de arquivos - prefixo: {}", prefix, unwrap(failure));
+                    return CompletableFuture.failedFuture(
+                            new RuntimeException("Erro ao listar arquivos", unwrap(failure)));
+                });
+    }
+
+    @Override
+    public CompletableFuture<FileInfoDto> getFileInfo(String key) {
+        logger.debug("Obtendo informações do arquivo: {}", key);
+
+        return cachedFileInfo(key).thenApply(fileInfo -> {
+            if (fileInfo == null) {
+                logger.warn("Arquivo não encontrado para obter informações: {}", key);
+                throw new FileNotFoundException("Arquivo não encontrado", key);
+            }
+            return fileInfo;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fileExists(String key) {
+        // Um "não" do filtro é definitivo e dispensa o HEAD; só os "talvez" consultam o S3
+        if (!keyExistenceFilter.mightExist(key)) {
+            logger.debug("Arquivo inexistente segundo o filtro de chaves: {}", key);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return cachedFileInfo(key)
+                .thenApply(Objects::nonNull)
+                .exceptionally(failure -> {
+                    logger.error("Erro ao verificar existência do arquivo: {}", key, unwrap(failure));
+                    return false;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteFile(String key) {
+        logger.debug("Iniciando exclusão assíncrona do arquivo: {}", key);
+
+        // O mesmo HEAD que verifica a existência traz o tamanho para as estatísticas
+        return cachedFileInfo(key).thenCompose(fileInfo -> {
+            if (fileInfo == null) {
+                logger.warn("Tentativa de excluir arquivo inexistente: {}", key);
+                throw new FileNotFoundException("Arquivo não encontrado", key);
+            }
+
+            var deleteRequest = DeleteObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build();
+
+            return s3AsyncClient.deleteObject(deleteRequest).handle((response, failure) -> {
+                if (failure != null) {
+                    logger.error("Erro ao excluir arquivo: {}", key, unwrap(failure));
+                    return false;
+                }
+
+                metadataCache.invalidate(key);
+                bucketStatsService.recordRemoved(key, fileInfo.size());
+
+                logger.info("Arquivo excluído com sucesso: {}", key);
+                return true;
+            });
+        });
+    }
+
+    /**
+     * Envia o conteúdo com um único PutObject não bloqueante, ou pelo upload multipart em partes
+     * paralelas (threads virtuais) para arquivos a partir do threshold
+     */
+    private CompletableFuture<String> putObject(String key, MultipartFile file, String contentType,
+                                                Map<String, String> metadata) throws IOException {
+        if (multipartUploader.shouldUseMultipart(file.getSize())) {
+            return CompletableFuture.supplyAsync(() -> {
+                try (var inputStream = file.getInputStream()) {
+                    return multipartUploader.upload(key, inputStream, contentType, metadata);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, s3TaskExecutor);
+        }
+
+        var putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(file.getSize())
+                .metadata(metadata)
+                .build();
+
+        // A leitura do arquivo recebido acontece no executor, em blocos, conforme o SDK pede mais dados
+        InputStream inputStream = file.getInputStream();
+        return s3AsyncClient.putObject(putObjectRequest,
+                        AsyncRequestBody.fromInputStream(inputStream, file.getSize(), s3TaskExecutor))
+                .whenComplete((response, failure) -> closeQuietly(inputStream))
+                .thenApply(PutObjectResponse::eTag);
+    }
+
+    /**
+     * Obtém os metadados do objeto pelo cache, com HEAD assíncrono no S3 apenas em caso de falha no cache
+     *
+     * @return Futuro com os metadados do arquivo ou null se ele não existir
+     */
+    private CompletableFuture<FileInfoDto> cachedFileInfo(String key) {
+        FileInfoDto cached = metadataCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        var headRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        return s3AsyncClient.headObject(headRequest)
+                .thenApply(response -> {
+                    FileInfoDto fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(),
+                            response.contentLength(), response.contentType(), response.eTag(),
+                            response.lastModified());
+                    metadataCache.put(fileInfo);
+                    return fileInfo;
+                })
+                .exceptionallyCompose(failure -> {
+                    Throwable cause = unwrap(failure);
+                    if (cause instanceof NoSuchKeyException) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    logger.error("Erro ao obter informações do arquivo: {}", key, cause);
+                    return CompletableFuture.failedFuture(
+                            new RuntimeException("Erro ao obter informações do arquivo", cause));
+                });
+    }
+
+    private FileDownloadDto toDownload(String key, ResponseInputStream<GetObjectResponse> objectStream) {
+        var response = objectStream.response();
+        var content = new InputStreamResource(objectStream, "s3://" + bucketName + "/" + key);
+
+        if (response.contentRange() == null) {
+            var fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(), response.contentLength(),
+                    response.contentType(), response.eTag(), response.lastModified());
+
+            // A resposta completa traz os mesmos metadados de um HEAD: aproveita para atualizar o cache
+            metadataCache.put(fileInfo);
+
+            logger.info("Download iniciado com sucesso - Key: {}, Tamanho: {} bytes", key, response.contentLength());
+            return FileDownloadDto.full(fileInfo, content);
+        }
+
+        var fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(),
+                FileServiceImpl.parseTotalSize(response.contentRange()),
+                response.contentType(), response.eTag(), response.lastModified());
+
+        logger.info("Download parcial iniciado - Key: {}, Intervalo: {}", key, response.contentRange());
+        return FileDownloadDto.partial(fileInfo, content, response.contentLength(), response.contentRange());
+    }
+
+    private RuntimeException toUploadException(String originalFilename, Throwable cause) {
+        if (cause instanceof IOException || cause instanceof UncheckedIOException) {
+            logger.error("Erro ao ler arquivo durante upload: {}", originalFilename, cause);
+            return new FileUploadException(originalFilename, "Erro ao processar arquivo", cause);
+        }
+        if (cause instanceof SdkException) {
+            logger.error("Erro do S3 durante upload: {}", originalFilename, cause);
+            return new FileUploadException(originalFilename, "Erro no serviço de armazenamento", cause);
+        }
+        return cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new FileUploadException(originalFilename, "Erro no upload", cause);
+    }
+
+    /**
+     * Remove os envelopes que o CompletableFuture coloca em volta da exceção original
+     */
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            logger.debug("Erro ao fechar stream do arquivo enviado", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.service.AsyncFileService;
+import br.com.thiagobianeck.awss3poc.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Implementação assíncrona sobre o {@link FileService} bloqueante (app.file.service-mode=sync)
+ * Cada chamada roda no executor s3TaskExecutor (threads virtuais no modo padrão), liberando a thread da requisição
+ *
+ * @author Bianeck
+ */
+@Service
+@ConditionalOnProperty(name = "app.file.service-mode", havingValue = "sync", matchIfMissing = true)
+public class BlockingAsyncFileService implements AsyncFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingAsyncFileService.class);
+
+    private final FileService fileService;
+    private final ExecutorService s3TaskExecutor;
+
+    public BlockingAsyncFileService(FileService fileService,
+                                    @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor) {
+        this.fileService = fileService;
+        this.s3TaskExecutor = s3TaskExecutor;
+
+        logger.info("AsyncFileService inicializado sobre o FileService bloqueante");
+    }
+
+    @Override
+    public CompletableFuture<FileInfoDto> uploadFile(MultipartFile file) {
+        return CompletableFuture.supplyAsync(() -> fileService.uploadFile(file), s3TaskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<FileDownloadDto> openDownload(String key, DownloadConditions conditions) {
+        return CompletableFuture.supplyAsync(() -> fileService.openDownload(key, conditions), s3TaskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<FilePageDto> listFiles(String prefix, int pageSize, String cursor, String startAfter) {
+        return CompletableFuture.supplyAsync(
+                () -> fileService.listFiles(prefix, pageSize, cursor, startAfter), s3TaskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<FileInfoDto> getFileInfo(String key) {
+        return CompletableFuture.supplyAsync(() -> fileService.getFileInfo(key), s3TaskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fileExists(String key) {
+        return CompletableFuture.supplyAsync(() -> fileService.fileExists(key), s3TaskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteFile(String key) {
+        return CompletableFuture.supplyAsync(() -> fileService.deleteFile(key), s3TaskExecutor);
+    }
+}
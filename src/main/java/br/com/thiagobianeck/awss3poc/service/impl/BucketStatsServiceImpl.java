@@ -0,0 +1,322 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.BucketStatsDto;
+import br.com.thiagobianeck.awss3poc.service.BucketStatsService;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementação das estatísticas do bucket com contadores incrementais
+ * Os contadores são semeados por uma varredura paginada na inicialização, atualizados a cada
+ * upload, cópia e exclusão feitos pelo FileService e reconciliados periodicamente com o bucket
+ * No modo de deduplicação, os blobs não contam como arquivos e cada ponteiro conta com o tamanho do blob
+ *
+ * @author Bianeck
+ */
+@Service
+public class BucketStatsServiceImpl implements BucketStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BucketStatsServiceImpl.class);
+
+    private final S3Client s3Client;
+    private final ContentAddressedStore contentStore;
+    private final ExecutorService s3TaskExecutor;
+    private final String bucketName;
+
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+
+    /**
+     * Contadores em uso e varredura em andamento, publicados juntos: uma alteração lê uma única vez
+     * o estado e nunca cai entre a troca dos contadores e o fim da varredura
+     */
+    private volatile State state = new State(new Counters(), null);
+
+    private volatile Instant lastUpdated = Instant.now();
+    private volatile Instant lastReconciled;
+
+    public BucketStatsServiceImpl(S3Client s3Client,
+                                  ContentAddressedStore contentStore,
+                                  @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                                  @Value("${aws.s3.bucket-name}") String bucketName) {
+        this.s3Client = s3Client;
+        this.contentStore = contentStore;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Semeia as estatísticas em segundo plano, sem atrasar a inicialização em buckets grandes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        requestReconcile();
+    }
+
+    @Override
+    public void recordAdded(String key, long size) {
+        apply(key, size, 1);
+    }
+
+    @Override
+    public void recordRemoved(String key, long size) {
+        apply(key, size, -1);
+    }
+
+    @Override
+    public BucketStatsDto getStats() {
+        Counters counters = state.counters();
+        long totalSize = counters.totalSize.sum();
+
+        Map<String, Long> filesByExtension = new TreeMap<>();
+        counters.filesByExtension.forEach((extension, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                filesByExtension.put(extension, value);
+            }
+        });
+
+        return new BucketStatsDto(
+                counters.totalFiles.sum(),
+                totalSize,
+                FileUtils.formatFileSize(totalSize),
+                filesByExtension,
+                lastUpdated,
+                lastReconciled
+        );
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval:1h}",
+            fixedDelayString = "${app.stats.reconcile-interval:1h}")
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            logger.debug("Reconciliação das estatísticas já em andamento");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Counters scanned = new Counters();
+        Scan scan = new Scan(scanned);
+        state = new State(state.counters(), scan);
+
+        try {
+            String continuationToken = null;
+            do {
+                var listRequest = ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .continuationToken(continuationToken)
+                        .build();
+
+                scan.beginPage();
+                ListObjectsV2Response page = s3Client.listObjectsV2(listRequest);
+                Map<String, Long> listedSizes = listedSizes(page.contents());
+                listedSizes.forEach((key, size) -> scanned.add(key, size, 1));
+
+                continuationToken = Boolean.TRUE.equals(page.isTruncated()) ? page.nextContinuationToken() : null;
+                scan.endPage(page.contents(), listedSizes, continuationToken == null);
+            } while (continuationToken != null);
+
+            // A varredura terminou: as alterações que ainda leem o estado anterior já caem em scanned
+            state = new State(scanned, null);
+
+            lastReconciled = Instant.now();
+            lastUpdated = lastReconciled;
+
+            logger.info("Estatísticas reconciliadas: {} arquivos, {} em {} ms",
+                    scanned.totalFiles.sum(), FileUtils.formatFileSize(scanned.totalSize.sum()),
+                    System.currentTimeMillis() - start);
+
+        } catch (SdkException e) {
+            state = new State(state.counters(), null);
+            logger.error("Erro ao reconciliar estatísticas do bucket: {}", bucketName, e);
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    @Override
+    public void requestReconcile() {
+        s3TaskExecutor.submit(this::reconcile);
+    }
+
+    /**
+     * Tamanhos dos arquivos de uma página, pela mesma regra das alterações registradas pelo FileService:
+     * blobs do modo de deduplicação ficam de fora e ponteiros contam com o tamanho do blob
+     */
+    private Map<String, Long> listedSizes(List<S3Object> contents) {
+        var pointers = contentStore.resolveListed(contents);
+
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (S3Object s3Object : contents) {
+            if (!ContentAddressedStore.isBlobKey(s3Object.key())) {
+                var pointer = pointers.get(s3Object.key());
+                sizes.put(s3Object.key(), pointer != null ? pointer.size() : s3Object.size());
+            }
+        }
+        return sizes;
+    }
+
+    private void apply(String key, long size, int direction) {
+        State current = state;
+        current.counters().add(key, size, direction);
+        if (current.scan() != null) {
+            current.scan().record(key, size, direction);
+        }
+
+        lastUpdated = Instant.now();
+    }
+
+    private record State(Counters counters, Scan scan) {
+    }
+
+    /**
+     * Varredura em andamento, que decide quais alterações concorrentes entram no resultado
+     * A listagem do S3 segue a ordem das chaves: alterações em chaves já listadas são aplicadas sobre
+     * o resultado e alterações em chaves ainda não listadas são descartadas, pois a listagem as verá.
+     * Durante a busca de uma página não se sabe se ela refletirá a alteração: as alterações ficam
+     * pendentes e, com a página recebida, só são aplicadas as que ela não mostra
+     */
+    private static final class Scan {
+
+        private final Counters scanned;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, List<Change>> duringFetch = new HashMap<>();
+
+        /**
+         * Última chave da última página recebida; null antes da primeira página
+         */
+        private String listedUpTo;
+        private boolean fetching;
+        private boolean finished;
+
+        Scan(Counters scanned) {
+            this.scanned = scanned;
+        }
+
+        void record(String key, long size, int direction) {
+            lock.lock();
+            try {
+                if (finished || (listedUpTo != null && compareKeys(key, listedUpTo) <= 0)) {
+                    scanned.add(key, size, direction);
+                } else if (fetching) {
+                    duringFetch.computeIfAbsent(key, ignored -> new ArrayList<>()).add(new Change(size, direction));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void beginPage() {
+            lock.lock();
+            try {
+                fetching = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param contents Objetos da página, que definem até onde a listagem chegou
+         * @param listedSizes Tamanhos dos arquivos da página, como contados nas estatísticas
+         */
+        void endPage(List<S3Object> contents, Map<String, Long> listedSizes, boolean last) {
+            lock.lock();
+            try {
+                String lastKey = contents.isEmpty() ? listedUpTo : contents.getLast().key();
+                if (!duringFetch.isEmpty()) {
+                    duringFetch.forEach((key, changes) -> {
+                        if (last || (lastKey != null && compareKeys(key, lastKey) <= 0)) {
+                            unseenChanges(changes, listedSizes.get(key))
+                                    .forEach(change -> scanned.add(key, change.size(), change.direction()));
+                        }
+                    });
+                    duringFetch.clear();
+                }
+
+                listedUpTo = lastKey;
+                fetching = false;
+                finished = last;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Alterações que a página não refletiu: as posteriores à última alteração cujo resultado
+         * coincide com o que a página mostra (ausente ou presente com o mesmo tamanho)
+         *
+         * @param listedSize Tamanho listado na página ou null se a chave não apareceu nela
+         */
+        private static List<Change> unseenChanges(List<Change> changes, Long listedSize) {
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                Change change = changes.get(i);
+                boolean matches = change.direction() > 0
+                        ? listedSize != null && listedSize == change.size()
+                        : listedSize == null;
+                if (matches) {
+                    return changes.subList(i + 1, changes.size());
+                }
+            }
+            return changes;
+        }
+
+        /**
+         * Compara as chaves na ordem da listagem do S3 (bytes UTF-8 sem sinal)
+         */
+        private static int compareKeys(String a, String b) {
+            return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private record Change(long size, int direction) {
+        }
+    }
+
+    /**
+     * Contadores sem contenção entre threads (LongAdder) para totais e extensões
+     */
+    private static final class Counters {
+
+        private final LongAdder totalFiles = new LongAdder();
+        private final LongAdder totalSize = new LongAdder();
+        private final Map<String, LongAdder> filesByExtension = new ConcurrentHashMap<>();
+
+        void add(String key, long size, int direction) {
+            totalFiles.add(direction);
+            totalSize.add(direction * size);
+            filesByExtension.computeIfAbsent(extensionOf(key), extension -> new LongAdder())
+                    .add(direction);
+        }
+
+        private static String extensionOf(String key) {
+            String fileName = key.substring(key.lastIndexOf('/') + 1);
+            return FileUtils.getFileExtension(fileName).toLowerCase();
+        }
+    }
+}
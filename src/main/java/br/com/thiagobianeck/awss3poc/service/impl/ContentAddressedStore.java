@@ -0,0 +1,347 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Armazenamento endereçado por conteúdo do modo de deduplicação (app.file.dedup.enabled)
+ * O conteúdo fica uma única vez em blobs/sha256/{hash}; cada chave visível ao usuário é um objeto
+ * ponteiro vazio cujos metadados indicam o blob, o tamanho e o ETag do conteúdo
+ * Com o modo desligado, nenhuma chave é tratada como ponteiro e nenhuma chamada extra é feita ao S3
+ *
+ * @author Bianeck
+ */
+@Component
+public class ContentAddressedStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStore.class);
+
+    static final String BLOB_ROOT = "blobs/";
+    static final String BLOB_PREFIX = BLOB_ROOT + "sha256/";
+
+    /**
+     * Metadados do objeto ponteiro
+     */
+    static final String BLOB_KEY_METADATA = "blob-key";
+    static final String BLOB_SIZE_METADATA = "blob-size";
+    static final String BLOB_ETAG_METADATA = "blob-etag";
+
+    /**
+     * Sentinela em cache para chaves que existem mas não são ponteiros (o Caffeine não armazena null)
+     */
+    private static final BlobPointer NOT_A_POINTER = new BlobPointer(null, null, Map.of(), null);
+
+    private final S3Client s3Client;
+    private final ExecutorService s3TaskExecutor;
+    private final Cache<String, BlobPointer> pointers;
+    private final Counter reusedBlobs;
+    private final Counter storedBlobs;
+    private final String bucketName;
+    private final boolean enabled;
+    private final int maxConcurrency;
+
+    public ContentAddressedStore(S3Client s3Client,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                                 @Value("${aws.s3.bucket-name}") String bucketName,
+                                 @Value("${app.file.dedup.enabled:false}") boolean enabled,
+                                 @Value("${app.cache.metadata.max-size:10000}") long maxSize,
+                                 @Value("${app.cache.metadata.ttl:5m}") Duration ttl,
+                                 @Value("${app.file.metadata-max-concurrency:16}") int maxConcurrency) {
+        this.s3Client = s3Client;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+        this.enabled = enabled;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.pointers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.reusedBlobs = Counter.builder("s3.dedup.uploads")
+                .description("Uploads no modo de deduplicação: conteúdo reaproveitado ou armazenado")
+                .tag("result", "reused")
+                .register(meterRegistry);
+        this.storedBlobs = Counter.builder("s3.dedup.uploads")
+                .description("Uploads no modo de deduplicação: conteúdo reaproveitado ou armazenado")
+                .tag("result", "stored")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, pointers, "blob-pointers");
+
+        logger.info("Deduplicação de uploads por conteúdo {}", enabled ? "habilitada" : "desabilitada");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Verifica se a chave é de um blob de conteúdo, que não aparece nas listagens
+     */
+    public static boolean isBlobKey(String key) {
+        return key != null && key.startsWith(BLOB_PREFIX);
+    }
+
+    /**
+     * Verifica se o prefixo aponta para a área dos blobs, que não pode ser excluída, copiada ou movida por prefixo
+     */
+    public static boolean isBlobPrefix(String prefix) {
+        return prefix != null && prefix.startsWith(BLOB_ROOT);
+    }
+
+    /**
+     * Calcula a chave do blob lendo o conteúdo uma única vez
+     */
+    public String blobKeyFor(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        new DigestInputStream(content, digest).transferTo(OutputStream.nullOutputStream());
+        return BLOB_PREFIX + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Consulta o blob com um HEAD
+     *
+     * @return ETag do blob ou null se o conteúdo ainda não foi armazenado
+     */
+    public String findBlobETag(String blobKey) {
+        try {
+            var headRequest = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(blobKey)
+                    .build();
+
+            return s3Client.headObject(headRequest).eTag();
+
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Contabiliza um upload concluído, depois que o ponteiro foi gravado
+     *
+     * @param reused true se o conteúdo já estava armazenado e não foi transferido
+     */
+    public void recordUpload(boolean reused) {
+        (reused ? reusedBlobs : storedBlobs).increment();
+    }
+
+    /**
+     * Metadados de um blob: sem o nome original, já que o conteúdo é compartilhado entre arquivos
+     */
+    public Map<String, String> createBlobMetadata(String contentType) {
+        return Map.of(
+                "content-type", contentType,
+                "upload-timestamp", Instant.now().toString(),
+                "uploaded-by", "s3-poc-application"
+        );
+    }
+
+    /**
+     * Grava o objeto ponteiro da chave visível ao usuário, sem corpo
+     *
+     * @param metadata Metadados do arquivo (nome original, tipo, etc.), acrescidos dos dados do blob
+     */
+    public void putPointer(String key, String blobKey, long size, String blobETag,
+                           String contentType, Map<String, String> metadata) {
+        Map<String, String> pointerMetadata = new HashMap<>(metadata);
+        pointerMetadata.put(BLOB_KEY_METADATA, blobKey);
+        pointerMetadata.put(BLOB_SIZE_METADATA, Long.toString(size));
+        pointerMetadata.put(BLOB_ETAG_METADATA, blobETag);
+
+        var putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .metadata(pointerMetadata)
+                .build();
+
+        s3Client.putObject(putObjectRequest, RequestBody.empty());
+        // O PutObject não informa a data de modificação do ponteiro: a próxima resolução a obtém pelo HEAD
+        pointers.invalidate(key);
+
+        logger.debug("Ponteiro gravado - Key: {}, Blob: {}", key, blobKey);
+    }
+
+    /**
+     * Resolve a chave visível ao usuário para o blob com o conteúdo, com HEAD apenas em caso de falha no cache
+     * O HEAD é feito fora do cache: dentro do cálculo do Caffeine, a chamada bloqueante prenderia
+     * a thread virtual à thread de plataforma enquanto o lock do cache estivesse retido
+     *
+     * @return Ponteiro ou null se a chave não for um ponteiro (ou não existir)
+     */
+    public BlobPointer resolve(String key) {
+        if (!enabled || isBlobKey(key)) {
+            return null;
+        }
+        BlobPointer pointer = pointers.getIfPresent(key);
+        if (pointer == null) {
+            pointer = headPointer(key);
+            // Chaves inexistentes não ficam em cache: podem ser criadas a qualquer momento
+            if (pointer != null) {
+                pointers.put(key, pointer);
+            }
+        }
+        return pointer == NOT_A_POINTER ? null : pointer;
+    }
+
+    /**
+     * Resolve os ponteiros de uma página da listagem
+     * Só objetos vazios podem ser ponteiros; os que não estão em cache custam um HEAD cada, feitos em
+     * paralelo (até app.file.metadata-max-concurrency) para que a página não espere um HEAD após o outro
+     *
+     * @return Ponteiros por chave; objetos que não são ponteiros ficam de fora
+     */
+    public Map<String, BlobPointer> resolveListed(List<S3Object> s3Objects) {
+        if (!enabled) {
+            return Map.of();
+        }
+
+        Map<String, BlobPointer> resolved = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (S3Object s3Object : s3Objects) {
+            if (s3Object.size() != 0 || isBlobKey(s3Object.key())) {
+                continue;
+            }
+            BlobPointer pointer = pointers.getIfPresent(s3Object.key());
+            if (pointer == null) {
+                uncached.add(s3Object.key());
+            } else if (pointer != NOT_A_POINTER) {
+                resolved.put(s3Object.key(), pointer);
+            }
+        }
+
+        // A vaga é obtida antes do submit: cada HEAD pendente não ocupa uma thread do executor
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<String, Future<BlobPointer>> pendingHeads = new LinkedHashMap<>();
+        try {
+            for (String key : uncached) {
+                permits.acquire();
+                pendingHeads.put(key, s3TaskExecutor.submit(() -> {
+                    try {
+                        return resolve(key);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (var pendingHead : pendingHeads.entrySet()) {
+                BlobPointer pointer = pendingHead.getValue().get();
+                if (pointer != null) {
+                    resolved.put(pendingHead.getKey(), pointer);
+                }
+            }
+            return resolved;
+
+        } catch (ExecutionException e) {
+            pendingHeads.values().forEach(pendingHead -> pendingHead.cancel(true));
+            // Erros do S3 seguem para o tratamento de quem listou
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Erro ao resolver ponteiros da listagem", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingHeads.values().forEach(pendingHead -> pendingHead.cancel(true));
+            throw new IllegalStateException("Resolução de ponteiros da listagem interrompida", e);
+        }
+    }
+
+    /**
+     * Remove o ponteiro em cache de uma chave alterada ou excluída
+     */
+    public void invalidate(String key) {
+        pointers.invalidate(key);
+    }
+
+    /**
+     * Remove os ponteiros em cache de várias chaves
+     */
+    public void invalidateAll(Collection<String> keys) {
+        pointers.invalidateAll(keys);
+    }
+
+    private BlobPointer headPointer(String key) {
+        try {
+            var headRequest = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build();
+
+            var response = s3Client.headObject(headRequest);
+            String blobKey = response.metadata().get(BLOB_KEY_METADATA);
+
+            return blobKey != null
+                    ? new BlobPointer(blobKey, response.contentType(), response.metadata(), response.lastModified())
+                    : NOT_A_POINTER;
+
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    /**
+     * Chave do blob com o conteúdo de um arquivo, com o tipo, os metadados e a data de modificação do ponteiro
+     * A data é a do ponteiro: o blob é compartilhado e mantém a do primeiro upload do conteúdo
+     */
+    public record BlobPointer(String blobKey, String contentType, Map<String, String> metadata,
+                              Instant lastModified) {
+
+        /**
+         * Tamanho do conteúdo, já que o objeto ponteiro é vazio
+         */
+        public long size() {
+            return Long.parseLong(metadata.get(BLOB_SIZE_METADATA));
+        }
+
+        /**
+         * ETag do conteúdo, que é o do blob
+         */
+        public String eTag() {
+            return metadata.get(BLOB_ETAG_METADATA);
+        }
+    }
+}
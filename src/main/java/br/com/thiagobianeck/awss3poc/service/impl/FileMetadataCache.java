@@ -0,0 +1,97 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Cache limitado (tamanho e TTL) dos metadados dos objetos, na frente das chamadas HEAD ao S3
+ * Apenas objetos existentes são mantidos; alterações feitas pelo FileService invalidam as entradas
+ * Métricas de acerto, falha e remoção ficam disponíveis como cache.* com a tag cache=file-metadata
+ *
+ * @author Bianeck
+ */
+@Component
+public class FileMetadataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileMetadataCache.class);
+
+    private final Cache<String, FileInfoDto> cache;
+
+    public FileMetadataCache(MeterRegistry meterRegistry,
+                             @Value("${app.cache.metadata.max-size:10000}") long maxSize,
+                             @Value("${app.cache.metadata.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "file-metadata");
+
+        logger.info("Cache de metadados configurado - tamanho máximo: {}, TTL: {}", maxSize, ttl);
+    }
+
+    /**
+     * Retorna os metadados em cache ou os carrega com o loader informado
+     * O loader roda fora do compute do Caffeine: um HEAD bloqueante dentro dele travaria o bucket do
+     * mapa para outras chaves e prenderia a thread virtual à thread de plataforma (pinning)
+     * Se o loader retornar null (objeto inexistente), nada é armazenado
+     *
+     * @param key Chave do arquivo no S3
+     * @param loader Função que consulta o S3
+     * @return Metadados do arquivo ou null se não existir
+     */
+    public FileInfoDto get(String key, Function<String, FileInfoDto> loader) {
+        FileInfoDto cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        FileInfoDto loaded = loader.apply(key);
+        if (loaded != null) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Retorna os metadados em cache sem consultar o S3
+     *
+     * @return Metadados do arquivo ou null se não estiverem em cache
+     */
+    public FileInfoDto getIfPresent(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Atualiza os metadados de um arquivo com valores obtidos do próprio S3
+     */
+    public void put(FileInfoDto fileInfo) {
+        cache.put(fileInfo.key(), fileInfo);
+    }
+
+    /**
+     * Remove os metadados de um arquivo alterado ou excluído
+     */
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Remove os metadados de vários arquivos
+     */
+    public void invalidateAll(Collection<String> keys) {
+        cache.invalidateAll(keys);
+    }
+}
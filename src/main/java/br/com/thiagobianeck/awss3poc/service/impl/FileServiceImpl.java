@@ -1,31 +1,77 @@
 package br.com.thiagobianeck.awss3poc.service.impl;
 
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.FileUploadResultDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartPartDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartUploadDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixCopyResultDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixDeleteProgressDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedPartsDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUploadRequestDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
 import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
 import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.exception.InvalidRangeException;
+import br.com.thiagobianeck.awss3poc.service.BucketStatsService;
 import br.com.thiagobianeck.awss3poc.service.FileService;
 import br.com.thiagobianeck.awss3poc.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de gerenciamento de arquivos no S3
@@ -37,22 +83,73 @@ public class FileServiceImpl implements FileService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileServiceImpl.class);
 
+    /**
+     * Páginas da listagem copiadas ao mesmo tempo na cópia por prefixo
+     * Uma página adicional mantém os workers ocupados enquanto a anterior termina suas últimas cópias
+     */
+    private static final int COPY_PAGES_IN_FLIGHT = 2;
+
+    /**
+     * Limites do S3 para uploads multipart: partes por upload e tamanho do objeto
+     */
+    private static final int MAX_MULTIPART_PARTS = 10_000;
+    private static final long MAX_OBJECT_SIZE = 5L * 1024 * 1024 * 1024 * 1024;
+
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final S3MultipartUploader multipartUploader;
+    private final S3MultipartCopier multipartCopier;
+    private final S3BatchDeleter batchDeleter;
+    private final BucketStatsService bucketStatsService;
+    private final FileMetadataCache metadataCache;
+    private final PresignedUrlCache presignedUrlCache;
+    private final KeyExistenceFilter keyExistenceFilter;
+    private final ContentAddressedStore contentStore;
+    private final ExecutorService s3TaskExecutor;
     private final String bucketName;
-    private final String s3Endpoint;
+    private final S3FileInfoMapper fileInfoMapper;
+    private final int uploadMaxConcurrency;
+    private final int metadataMaxConcurrency;
+    private final int copyMaxConcurrency;
+    private final int infoBatchMaxKeys;
+    private final int presignBatchMaxKeys;
 
     public FileServiceImpl(S3Client s3Client,
+                           S3Presigner s3Presigner,
+                           S3MultipartUploader multipartUploader,
+                           S3MultipartCopier multipartCopier,
+                           S3BatchDeleter batchDeleter,
+                           BucketStatsService bucketStatsService,
+                           FileMetadataCache metadataCache,
+                           PresignedUrlCache presignedUrlCache,
+                           KeyExistenceFilter keyExistenceFilter,
+                           ContentAddressedStore contentStore,
+                           @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
                            @Value("${aws.s3.bucket-name}") String bucketName,
-                           @Value("${aws.s3.endpoint}") String s3Endpoint) {
+                           @Value("${aws.s3.endpoint}") String s3Endpoint,
+                           @Value("${app.file.upload-max-concurrency:4}") int uploadMaxConcurrency,
+                           @Value("${app.file.metadata-max-concurrency:16}") int metadataMaxConcurrency,
+                           @Value("${app.file.copy-max-concurrency:16}") int copyMaxConcurrency,
+                           @Value("${app.file.info-batch-max-keys:1000}") int infoBatchMaxKeys,
+                           @Value("${app.file.presign-batch-max-keys:1000}") int presignBatchMaxKeys) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.multipartUploader = multipartUploader;
+        this.multipartCopier = multipartCopier;
+        this.batchDeleter = batchDeleter;
+        this.bucketStatsService = bucketStatsService;
+        this.metadataCache = metadataCache;
+        this.presignedUrlCache = presignedUrlCache;
+        this.keyExistenceFilter = keyExistenceFilter;
+        this.contentStore = contentStore;
+        this.s3TaskExecutor = s3TaskExecutor;
         this.bucketName = bucketName;
-        this.s3Endpoint = s3Endpoint;
-
-        // Configura o S3Presigner usando as mesmas configurações do S3Client
-        this.s3Presigner = S3Presigner.builder()
-                .s3Client(s3Client)
-                .build();
+        this.fileInfoMapper = new S3FileInfoMapper(bucketName, s3Endpoint);
+        this.uploadMaxConcurrency = Math.max(1, uploadMaxConcurrency);
+        this.metadataMaxConcurrency = Math.max(1, metadataMaxConcurrency);
+        this.copyMaxConcurrency = Math.max(1, copyMaxConcurrency);
+        this.infoBatchMaxKeys = Math.max(1, infoBatchMaxKeys);
+        this.presignBatchMaxKeys = Math.max(1, presignBatchMaxKeys);
 
         logger.info("FileService inicializado com bucket: {} e endpoint: {}", bucketName, s3Endpoint);
     }
@@ -64,7 +161,54 @@ public class FileServiceImpl implements FileService {
         // Valida o arquivo
         FileUtils.validateFile(file);
 
-        String originalFilename = file.getOriginalFilename();
+        if (contentStore.isEnabled()) {
+            return storeDeduplicated(file.getOriginalFilename(), file, file.getSize());
+        }
+
+        try (var inputStream = file.getInputStream()) {
+            return storeFile(file.getOriginalFilename(), inputStream, file.getSize());
+        } catch (IOException e) {
+            logger.error("Erro ao ler arquivo durante upload: {}", file.getOriginalFilename(), e);
+            throw new FileUploadException(file.getOriginalFilename(), "Erro ao processar arquivo", e);
+        }
+    }
+
+    @Override
+    public FileInfoDto uploadFile(String fileName, InputStream content, long contentLength) {
+        logger.debug("Iniciando upload do corpo bruto do arquivo: {} ({} bytes)", fileName, contentLength);
+
+        // Nome e tamanho declarado são validados antes de qualquer byte do corpo ser lido
+        FileUtils.validateFile(fileName, contentLength);
+
+        var body = new RequestBodyInputStream(content);
+        try {
+            // O hash exige reler o conteúdo: só corpos abaixo do threshold, mantidos em memória, são deduplicados
+            if (contentStore.isEnabled() && !multipartUploader.shouldUseMultipart(contentLength)) {
+                byte[] bytes = body.readNBytes(Math.toIntExact(contentLength));
+                if (bytes.length != contentLength) {
+                    throw new FileUploadException(fileName, "Conteúdo recebido difere do tamanho declarado");
+                }
+                return storeDeduplicated(fileName, new ByteArrayResource(bytes), bytes.length);
+            }
+            return storeFile(fileName, body, contentLength);
+        } catch (IOException e) {
+            logger.error("Erro ao ler arquivo durante upload: {}", fileName, e);
+            throw new FileUploadException(fileName, "Erro ao processar arquivo", e);
+        } catch (SdkClientException e) {
+            // Só a leitura do corpo é culpa do cliente; conexão, timeout e credenciais do S3 seguem como 5xx
+            if (!body.isIncomplete(contentLength)) {
+                throw e;
+            }
+            // O servidor não entrega mais que o Content-Length e falha se o cliente enviar menos
+            logger.error("Corpo do arquivo interrompido durante upload: {}", fileName, e);
+            throw new FileUploadException(fileName, "Conteúdo recebido difere do tamanho declarado", e);
+        }
+    }
+
+    /**
+     * Envia ao S3 um conteúdo já validado e de tamanho conhecido (multipart acima do threshold)
+     */
+    private FileInfoDto storeFile(String originalFilename, InputStream inputStream, long contentLength) {
         String key = FileUtils.generateFileKey(originalFilename);
         String contentType = FileUtils.getContentType(originalFilename);
 
@@ -72,30 +216,23 @@ public class FileServiceImpl implements FileService {
             // Configura metadados do arquivo
             var metadata = createFileMetadata(originalFilename, contentType);
 
-            // Prepara a requisição de upload
-            var putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(contentType)
-                    .contentLength(file.getSize())
-                    .metadata(metadata)
-                    .build();
-
-            // Realiza o upload
-            var response = s3Client.putObject(putObjectRequest,
-                    RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            // Realiza o upload (multipart para arquivos acima do threshold)
+            String eTag = putObject(key, inputStream, contentLength, contentType, metadata);
 
-            logger.info("Upload realizado com sucesso - Key: {}, ETag: {}", key, response.eTag());
+            logger.info("Upload realizado com sucesso - Key: {}, ETag: {}", key, eTag);
+            metadataCache.invalidate(key);
+            keyExistenceFilter.add(key);
+            bucketStatsService.recordAdded(key, contentLength);
 
             // Retorna informações do arquivo
             return FileInfoDto.of(
                     originalFilename,
                     key,
-                    file.getSize(),
+                    contentLength,
                     contentType,
-                    response.eTag(),
+                    eTag,
                     Instant.now(),
-                    buildFileUrl(key)
+                    fileInfoMapper.buildFileUrl(key)
             );
 
         } catch (IOException e) {
@@ -107,25 +244,167 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    /**
+     * Upload no modo de deduplicação: o conteúdo vai para o blob endereçado pelo seu SHA-256,
+     * e a chave do arquivo recebe apenas um ponteiro para ele
+     * Se o blob já existe, o upload custa um HEAD e a gravação do ponteiro, sem transferir o conteúdo
+     *
+     * @param content Conteúdo já validado e disponível localmente, lido uma vez para o hash
+     *                e uma segunda vez apenas se o blob ainda não existir
+     */
+    private FileInfoDto storeDeduplicated(String originalFilename, InputStreamSource content, long contentLength) {
+        String key = FileUtils.generateFileKey(originalFilename);
+        String contentType = FileUtils.getContentType(originalFilename);
+
+        try {
+            String blobKey;
+            try (var inputStream = content.getInputStream()) {
+                blobKey = contentStore.blobKeyFor(inputStream);
+            }
+
+            String blobETag = contentStore.findBlobETag(blobKey);
+            boolean reused = blobETag != null;
+            if (!reused) {
+                try (var inputStream = content.getInputStream()) {
+                    blobETag = putObject(blobKey, inputStream, contentLength, contentType,
+                            contentStore.createBlobMetadata(contentType));
+                }
+                logger.info("Conteúdo novo armazenado - Blob: {}", blobKey);
+            } else {
+                logger.info("Conteúdo já armazenado, transferência dispensada - Blob: {}", blobKey);
+            }
+
+            contentStore.putPointer(key, blobKey, contentLength, blobETag, contentType,
+                    createFileMetadata(originalFilename, contentType));
+            contentStore.recordUpload(reused);
+
+            logger.info("Upload deduplicado realizado com sucesso - Key: {}, Blob: {}", key, blobKey);
+            metadataCache.invalidate(key);
+            keyExistenceFilter.add(key);
+            bucketStatsService.recordAdded(key, contentLength);
+
+            return FileInfoDto.of(
+                    originalFilename,
+                    key,
+                    contentLength,
+                    contentType,
+                    blobETag,
+                    Instant.now(),
+                    fileInfoMapper.buildFileUrl(key)
+            );
+
+        } catch (IOException e) {
+            logger.error("Erro ao ler arquivo durante upload: {}", originalFilename, e);
+            throw new FileUploadException(originalFilename, "Erro ao processar arquivo", e);
+        } catch (S3Exception e) {
+            logger.error("Erro do S3 durante upload: {}", originalFilename, e);
+            throw new FileUploadException(originalFilename, "Erro no serviço de armazenamento", e);
+        }
+    }
+
+    @Override
+    public FileInfoDto uploadStream(String fileName, InputStream content) {
+        logger.debug("Iniciando upload em streaming do arquivo: {}", fileName);
+
+        // Sem o tamanho antecipado, nome e extensão são validados antes de ler o conteúdo
+        FileUtils.validateFileName(fileName);
+
+        String key = FileUtils.generateFileKey(fileName);
+        String contentType = FileUtils.getContentType(fileName);
+        var metadata = createFileMetadata(fileName, contentType);
+        var limitedContent = FileUtils.limitToMaxSize(fileName, content);
+
+        try {
+            // Lê no máximo o threshold do multipart: se o conteúdo termina antes, o tamanho é conhecido
+            // e vai em um único PutObject; senão, cada parte segue para o S3 enquanto as próximas chegam
+            byte[] prefix = limitedContent.readNBytes(Math.toIntExact(multipartUploader.getThreshold()));
+            FileUtils.validateFile(fileName, prefix.length);
+
+            // Conteúdo inteiro em memória: pode ser deduplicado sem nova leitura do cliente
+            if (contentStore.isEnabled() && !multipartUploader.shouldUseMultipart(prefix.length)) {
+                return storeDeduplicated(fileName, new ByteArrayResource(prefix), prefix.length);
+            }
+
+            String eTag;
+            if (multipartUploader.shouldUseMultipart(prefix.length)) {
+                eTag = multipartUploader.upload(key,
+                        new SequenceInputStream(new ByteArrayInputStream(prefix), limitedContent),
+                        contentType, metadata);
+            } else {
+                eTag = putObject(key, new ByteArrayInputStream(prefix), prefix.length, contentType, metadata);
+            }
+
+            long size = limitedContent.getBytesRead();
+            logger.info("Upload em streaming realizado com sucesso - Key: {}, Tamanho: {} bytes, ETag: {}",
+                    key, size, eTag);
+            metadataCache.invalidate(key);
+            keyExistenceFilter.add(key);
+            bucketStatsService.recordAdded(key, size);
+
+            return FileInfoDto.of(
+                    fileName,
+                    key,
+                    size,
+                    contentType,
+                    eTag,
+                    Instant.now(),
+                    fileInfoMapper.buildFileUrl(key)
+            );
+
+        } catch (IOException e) {
+            logger.error("Erro ao ler arquivo durante upload em streaming: {}", fileName, e);
+            throw new FileUploadException(fileName, "Erro ao processar arquivo", e);
+        } catch (S3Exception e) {
+            logger.error("Erro do S3 durante upload em streaming: {}", fileName, e);
+            throw new FileUploadException(fileName, "Erro no serviço de armazenamento", e);
+        }
+    }
+
     @Override
     public List<FileInfoDto> uploadMultipleFiles(List<MultipartFile> files) {
+        return uploadFiles(files).stream()
+                .filter(FileUploadResultDto::success)
+                .map(FileUploadResultDto::file)
+                .toList();
+    }
+
+    @Override
+    public List<FileUploadResultDto> uploadFiles(List<MultipartFile> files) {
         logger.debug("Iniciando upload de {} arquivos", files.size());
 
         // Valida todos os arquivos antes de começar o upload
         FileUtils.validateFiles(files);
 
-        List<FileInfoDto> uploadedFiles = new ArrayList<>();
+        // Dispara os uploads em paralelo, limitados por uploadMaxConcurrency
+        List<Callable<FileInfoDto>> uploads = files.stream()
+                .map(file -> (Callable<FileInfoDto>) () -> uploadFile(file))
+                .toList();
+        List<Future<FileInfoDto>> pendingUploads;
+        try {
+            pendingUploads = submitAll(uploads, uploadMaxConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String fileNames = files.stream().map(MultipartFile::getOriginalFilename).collect(Collectors.joining(", "));
+            throw new FileUploadException(fileNames, "Upload múltiplo interrompido", e);
+        }
+
+        List<FileUploadResultDto> results = new ArrayList<>(files.size());
         List<String> failedFiles = new ArrayList<>();
 
-        for (MultipartFile file : files) {
+        for (int i = 0; i < files.size(); i++) {
+            String fileName = files.get(i).getOriginalFilename();
             try {
-                FileInfoDto uploadedFile = uploadFile(file);
-                uploadedFiles.add(uploadedFile);
-                logger.debug("Arquivo {} enviado com sucesso", file.getOriginalFilename());
-
-            } catch (Exception e) {
-                logger.error("Falha no upload do arquivo: {}", file.getOriginalFilename(), e);
-                failedFiles.add(file.getOriginalFilename());
+                results.add(FileUploadResultDto.success(pendingUploads.get(i).get()));
+                logger.debug("Arquivo {} enviado com sucesso", fileName);
+
+            } catch (ExecutionException e) {
+                logger.error("Falha no upload do arquivo: {}", fileName, e.getCause());
+                results.add(FileUploadResultDto.failure(fileName, e.getCause().getMessage()));
+                failedFiles.add(fileName);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendingUploads.forEach(upload -> upload.cancel(true));
+                throw new FileUploadException(fileName, "Upload múltiplo interrompido", e);
             }
         }
 
@@ -136,55 +415,153 @@ public class FileServiceImpl implements FileService {
         }
 
         logger.info("Upload múltiplo concluído: {} sucessos, {} falhas",
-                uploadedFiles.size(), failedFiles.size());
+                files.size() - failedFiles.size(), failedFiles.size());
 
-        return uploadedFiles;
+        return results;
     }
 
     @Override
     public Resource downloadFile(String key) {
-        logger.debug("Iniciando download do arquivo com key: {}", key);
+        return openDownload(key, DownloadConditions.none()).content();
+    }
 
-        if (!fileExists(key)) {
-            throw new FileNotFoundException("Arquivo não encontrado", key);
+    @Override
+    public FileDownloadDto openDownload(String key, DownloadConditions conditions) {
+        String range = conditions.range();
+        String ifRange = conditions.ifRange();
+        String ifNoneMatch = conditions.ifNoneMatch();
+        Instant ifModifiedSince = conditions.ifModifiedSince();
+        logger.debug("Iniciando download do arquivo com key: {} (range: {})", key, range);
+
+        // O If-Range vira uma pré-condição do próprio GET parcial (If-Match ou If-Unmodified-Since):
+        // se o arquivo mudou, o S3 responde 412 sem corpo e só então o arquivo completo é buscado
+        String ifMatch = null;
+        Instant ifUnmodifiedSince = null;
+        if (range != null && ifRange != null) {
+            if (ifRange.startsWith("\"")) {
+                ifMatch = ifRange;
+            } else {
+                ifUnmodifiedSince = S3FileInfoMapper.parseHttpDate(ifRange);
+            }
         }
+        boolean ifRangeSent = ifMatch != null || ifUnmodifiedSince != null;
+        // ETag fraco ou data inválida nunca correspondem: o intervalo é ignorado
+        String s3Range = ifRange != null && !ifRangeSent ? null : range;
 
+        ContentAddressedStore.BlobPointer pointer = null;
         try {
+            // No modo de deduplicação o conteúdo é lido do blob, e os metadados vêm do ponteiro
+            pointer = contentStore.resolve(key);
+            if (pointer != null) {
+                // O blob é compartilhado e mantém a data do primeiro upload do conteúdo: as datas são
+                // comparadas aqui com a do ponteiro, e ao S3 só vão condições de ETag, que são as do blob
+                if (ifNoneMatch == null && ifModifiedSince != null
+                        && !isModifiedSince(pointer.lastModified(), ifModifiedSince)) {
+                    logger.debug("Arquivo não modificado, download dispensado: {}", key);
+                    return FileDownloadDto.notModified(
+                            fileInfoMapper.toNotModifiedFileInfo(key, pointer.eTag(), pointer.lastModified()));
+                }
+                ifModifiedSince = null;
+                if (ifUnmodifiedSince != null) {
+                    if (isModifiedSince(pointer.lastModified(), ifUnmodifiedSince)) {
+                        logger.debug("If-Range não corresponde ao arquivo atual, enviando arquivo completo: {}", key);
+                        return openDownload(key, conditions.withoutRange());
+                    }
+                    ifUnmodifiedSince = null;
+                    ifMatch = pointer.eTag();
+                }
+            }
+
+            // As condições são avaliadas pelo próprio S3, que responde 304 sem enviar o corpo
             var getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
-                    .key(key)
+                    .key(pointer != null ? pointer.blobKey() : key)
+                    .range(s3Range)
+                    .ifMatch(ifMatch)
+                    .ifUnmodifiedSince(ifUnmodifiedSince)
+                    .ifNoneMatch(ifNoneMatch)
+                    .ifModifiedSince(ifModifiedSince)
                     .build();
 
-            var response = s3Client.getObjectAsBytes(getObjectRequest);
+            // Uma única chamada ao S3: o GetObject já traz os metadados junto com o corpo,
+            // e um NoSuchKey dispensa o HEAD prévio de existência
+            // O corpo é mantido como stream e copiado direto para quem consumir o Resource,
+            // sem carregar o objeto inteiro no heap. Com Range, só os bytes pedidos saem do S3
+            var objectStream = s3Client.getObject(getObjectRequest);
+            var response = objectStream.response();
+            var content = new InputStreamResource(objectStream, "s3://" + bucketName + "/" + key);
+            var metadata = pointer != null ? pointer.metadata() : response.metadata();
+            var contentType = pointer != null ? pointer.contentType() : response.contentType();
+            var lastModified = pointer != null ? pointer.lastModified() : response.lastModified();
+
+            if (response.contentRange() == null) {
+                var fileInfo = fileInfoMapper.toFileInfoDto(key, metadata, response.contentLength(),
+                        contentType, response.eTag(), lastModified);
+
+                // A resposta completa traz os mesmos metadados de um HEAD: aproveita para atualizar o cache
+                metadataCache.put(fileInfo);
+
+                logger.info("Download iniciado com sucesso - Key: {}, Tamanho: {} bytes",
+                        key, response.contentLength());
+                return FileDownloadDto.full(fileInfo, content);
+            }
 
-            logger.info("Download realizado com sucesso - Key: {}, Tamanho: {} bytes",
-                    key, response.asByteArray().length);
+            var fileInfo = fileInfoMapper.toFileInfoDto(key, metadata, parseTotalSize(response.contentRange()),
+                    contentType, response.eTag(), lastModified);
 
-            return new ByteArrayResource(response.asByteArray());
+            logger.info("Download parcial iniciado - Key: {}, Intervalo: {}", key, response.contentRange());
+            return FileDownloadDto.partial(fileInfo, content, response.contentLength(), response.contentRange());
 
         } catch (NoSuchKeyException e) {
             logger.warn("Arquivo não encontrado para download: {}", key);
             throw new FileNotFoundException("Arquivo não encontrado", key);
         } catch (S3Exception e) {
+            if (e.statusCode() == 304) {
+                logger.debug("Arquivo não modificado, download dispensado: {}", key);
+                return FileDownloadDto.notModified(pointer != null
+                        ? fileInfoMapper.toNotModifiedFileInfo(key, pointer.eTag(), pointer.lastModified())
+                        : fileInfoMapper.toNotModifiedFileInfo(key, ifNoneMatch, e));
+            }
+            if (e.statusCode() == 412 && ifRangeSent) {
+                logger.debug("If-Range não corresponde ao arquivo atual, enviando arquivo completo: {}", key);
+                return openDownload(key, conditions.withoutRange());
+            }
+            if (e.statusCode() == 416) {
+                logger.warn("Intervalo inválido para download: {} ({})", key, s3Range);
+                throw new InvalidRangeException(key, s3Range, invalidRangeObjectSize(key, e));
+            }
             logger.error("Erro do S3 durante download: {}", key, e);
             throw new RuntimeException("Erro ao baixar arquivo do S3", e);
         }
     }
 
+    /**
+     * Compara como as datas HTTP, com precisão de segundos
+     */
+    private static boolean isModifiedSince(Instant lastModified, Instant since) {
+        return lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+    }
+
+    /**
+     * Tamanho do objeto para a resposta 416: o erro InvalidRange do S3 já o informa (ActualObjectSize),
+     * dispensando o HEAD; o cache de metadados e o HEAD ficam como alternativa
+     */
+    private long invalidRangeObjectSize(String key, S3Exception e) {
+        Long size = S3FileInfoMapper.invalidRangeObjectSize(e);
+        if (size != null) {
+            return size;
+        }
+        FileInfoDto cached = metadataCache.getIfPresent(key);
+        return cached != null ? cached.size() : getFileInfo(key).size();
+    }
+
     @Override
     public List<FileInfoDto> listAllFiles() {
         logger.debug("Listando todos os arquivos do bucket: {}", bucketName);
 
         try {
-            var listRequest = ListObjectsV2Request.builder()
-                    .bucket(bucketName)
-                    .build();
-
-            var response = s3Client.listObjectsV2(listRequest);
-
-            List<FileInfoDto> files = response.contents().stream()
-                    .map(this::convertToFileInfoDto)
-                    .collect(Collectors.toList());
+            // Percorre todas as páginas: uma única chamada retornaria no máximo 1000 objetos
+            List<FileInfoDto> files = streamFiles(null).collect(Collectors.toList());
 
             logger.info("Listagem concluída: {} arquivos encontrados", files.size());
             return files;
@@ -200,16 +577,7 @@ public class FileServiceImpl implements FileService {
         logger.debug("Listando arquivos com prefixo: {}", prefix);
 
         try {
-            var listRequest = ListObjectsV2Request.builder()
-                    .bucket(bucketName)
-                    .prefix(prefix)
-                    .build();
-
-            var response = s3Client.listObjectsV2(listRequest);
-
-            List<FileInfoDto> files = response.contents().stream()
-                    .map(this::convertToFileInfoDto)
-                    .collect(Collectors.toList());
+            List<FileInfoDto> files = streamFiles(prefix).collect(Collectors.toList());
 
             logger.info("Listagem por prefixo concluída: {} arquivos encontrados para '{}'",
                     files.size(), prefix);
@@ -222,48 +590,78 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public FileInfoDto getFileInfo(String key) {
-        logger.debug("Obtendo informações do arquivo: {}", key);
+    public FilePageDto listFiles(String prefix, int pageSize, String cursor, String startAfter) {
+        logger.debug("Listando página de arquivos - prefixo: {}, tamanho: {}", prefix, pageSize);
 
         try {
-            var headRequest = HeadObjectRequest.builder()
+            // Com cursor, o token de continuação já posiciona a listagem e o startAfter é ignorado pelo S3
+            var listRequest = ListObjectsV2Request.builder()
                     .bucket(bucketName)
-                    .key(key)
+                    .prefix(prefix)
+                    .maxKeys(pageSize)
+                    .continuationToken(decodeCursor(cursor))
+                    .startAfter(startAfter)
                     .build();
 
-            var response = s3Client.headObject(headRequest);
+            var response = s3Client.listObjectsV2(listRequest);
 
-            // Extrai o nome original do arquivo dos metadados
-            String originalFileName = response.metadata().getOrDefault("original-filename",
-                    extractFileNameFromKey(key));
+            List<FileInfoDto> files = convertToFileInfoDtos(response.contents());
 
-            var fileInfo = FileInfoDto.of(
-                    originalFileName,
-                    key,
-                    response.contentLength(),
-                    response.contentType(),
-                    response.eTag(),
-                    response.lastModified(),
-                    buildFileUrl(key)
-            );
+            String nextCursor = Boolean.TRUE.equals(response.isTruncated())
+                    ? encodeCursor(response.nextContinuationToken())
+                    : null;
 
-            logger.debug("Informações obtidas com sucesso para: {}", key);
-            return fileInfo;
+            logger.info("Página listada: {} arquivos (mais páginas: {})", files.size(), nextCursor != null);
+            return FilePageDto.of(files, nextCursor);
 
-        } catch (NoSuchKeyException e) {
-            logger.warn("Arquivo não encontrado para obter informações: {}", key);
-            throw new FileNotFoundException("Arquivo não encontrado", key);
+        } catch (S3Exception e) {
+            logger.error("Erro ao listar página de arquivos - prefixo: {}", prefix, e);
+            throw new RuntimeException("Erro ao listar arquivos", e);
+        }
+    }
+
+    @Override
+    public Stream<FileInfoDto> streamFiles(String prefix) {
+        var listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+
+        // O paginator só busca a próxima página quando a anterior foi consumida
+        return s3Client.listObjectsV2Paginator(listRequest)
+                .stream()
+                .flatMap(page -> convertToFileInfoDtos(page.contents()).stream());
+    }
+
+    @Override
+    public FileInfoDto getFileInfo(String key) {
+        logger.debug("Obtendo informações do arquivo: {}", key);
+
+        FileInfoDto fileInfo;
+        try {
+            fileInfo = cachedFileInfo(key);
         } catch (S3Exception e) {
             logger.error("Erro ao obter informações do arquivo: {}", key, e);
             throw new RuntimeException("Erro ao obter informações do arquivo", e);
         }
+
+        if (fileInfo == null) {
+            logger.warn("Arquivo não encontrado para obter informações: {}", key);
+            throw new FileNotFoundException("Arquivo não encontrado", key);
+        }
+
+        logger.debug("Informações obtidas com sucesso para: {}", key);
+        return fileInfo;
     }
 
     @Override
     public boolean deleteFile(String key) {
         logger.debug("Iniciando exclusão do arquivo: {}", key);
+        requireFileKey(key);
 
-        if (!fileExists(key)) {
+        // O mesmo HEAD que verifica a existência traz o tamanho para as estatísticas
+        Long size = objectSize(key);
+        if (size == null) {
             logger.warn("Tentativa de excluir arquivo inexistente: {}", key);
             throw new FileNotFoundException("Arquivo não encontrado", key);
         }
@@ -275,6 +673,10 @@ public class FileServiceImpl implements FileService {
                     .build();
 
             s3Client.deleteObject(deleteRequest);
+            metadataCache.invalidate(key);
+            contentStore.invalidate(key);
+            presignedUrlCache.invalidate(key);
+            bucketStatsService.recordRemoved(key, size);
 
             logger.info("Arquivo excluído com sucesso: {}", key);
             return true;
@@ -287,74 +689,178 @@ public class FileServiceImpl implements FileService {
 
     @Override
     public int deleteMultipleFiles(List<String> keys) {
+        return deleteFiles(keys).deletedCount();
+    }
+
+    @Override
+    public BatchDeleteResultDto deleteFiles(List<String> keys) {
         logger.debug("Iniciando exclusão de {} arquivos", keys.size());
 
-        if (keys.isEmpty()) {
-            return 0;
+        List<String> distinctKeys = keys.stream().distinct().toList();
+        distinctKeys.forEach(FileServiceImpl::requireFileKey);
+        if (distinctKeys.isEmpty()) {
+            return BatchDeleteResultDto.of(0, List.of(), List.of());
         }
 
-        try {
-            // Prepara a lista de objetos para exclusão
-            List<ObjectIdentifier> objectsToDelete = keys.stream()
-                    .map(key -> ObjectIdentifier.builder().key(key).build())
-                    .collect(Collectors.toList());
+        // O DeleteObjects reporta como excluídas também chaves inexistentes e não informa tamanhos:
+        // as estatísticas usam os tamanhos já em cache, sem um HEAD por chave, e as chaves sem
+        // tamanho conhecido ficam para a reconciliação periódica, sem uma varredura do bucket por lote
+        Map<String, Long> sizes = cachedSizes(distinctKeys);
+
+        BatchDeleteResultDto result = batchDeleter.deleteAll(distinctKeys);
+        // Chaves de blocos com falha inesperada podem ter sido excluídas: todo o lote sai do cache
+        metadataCache.invalidateAll(distinctKeys);
+        contentStore.invalidateAll(distinctKeys);
+        presignedUrlCache.invalidateAll(distinctKeys);
+
+        long unknownSizes = 0;
+        for (String key : result.deleted()) {
+            Long size = sizes.get(key);
+            if (size != null) {
+                bucketStatsService.recordRemoved(key, size);
+            } else {
+                unknownSizes++;
+            }
+        }
+        if (unknownSizes > 0) {
+            logger.debug("{} chaves excluídas sem tamanho em cache; estatísticas corrigidas na reconciliação",
+                    unknownSizes);
+        }
 
-            var deleteRequest = DeleteObjectsRequest.builder()
-                    .bucket(bucketName)
-                    .delete(Delete.builder().objects(objectsToDelete).build())
-                    .build();
+        logger.info("Exclusão múltipla concluída: {} sucessos, {} erros",
+                result.deletedCount(), result.failedCount());
+        return result;
+    }
+
+    @Override
+    public PrefixDeleteProgressDto deleteByPrefix(String prefix,
+                                                  Consumer<PrefixDeleteProgressDto> progressListener) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefixo não pode estar vazio");
+        }
+        requireFilePrefix(prefix);
+
+        logger.info("Iniciando exclusão por prefixo: {}", prefix);
 
-            var response = s3Client.deleteObjects(deleteRequest);
+        var listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .maxKeys(S3BatchDeleter.MAX_KEYS_PER_REQUEST)
+                .build();
 
-            int deletedCount = response.deleted().size();
-            int errorCount = response.errors().size();
+        // No máximo maxConcurrency páginas ficam em memória/exclusão ao mesmo tempo;
+        // a listagem espera uma vaga antes de buscar a próxima página
+        Semaphore permits = new Semaphore(batchDeleter.getMaxConcurrency());
+        AtomicInteger pagesProcessed = new AtomicInteger();
+        AtomicLong deletedCount = new AtomicLong();
+        AtomicLong failedCount = new AtomicLong();
+        AtomicReference<Throwable> pipelineFailure = new AtomicReference<>();
+        // O listener escreve na resposta HTTP (I/O bloqueante): um bloco synchronized prenderia
+        // a thread virtual à thread de plataforma durante a escrita (pinning); o ReentrantLock não
+        ReentrantLock progressLock = new ReentrantLock();
+        List<Future<?>> pendingPages = new ArrayList<>();
 
-            // Log dos erros, se houver
-            response.errors().forEach(error ->
-                    logger.warn("Erro ao excluir arquivo {}: {}", error.key(), error.message()));
+        try {
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(listRequest)) {
+                if (pipelineFailure.get() != null) {
+                    break;
+                }
+                // Blobs ficam fora mesmo de prefixos que os alcançam ("b", "blobs"): ainda há ponteiros para eles
+                List<S3Object> objects = page.contents().stream()
+                        .filter(s3Object -> !ContentAddressedStore.isBlobKey(s3Object.key()))
+                        .toList();
+                if (objects.isEmpty()) {
+                    continue;
+                }
+
+                // A listagem já traz o tamanho: as estatísticas são atualizadas sem HEAD (exceto ponteiros)
+                var pointers = contentStore.resolveListed(objects);
+                Map<String, Long> sizes = new LinkedHashMap<>();
+                objects.forEach(s3Object -> sizes.put(s3Object.key(), listedSize(s3Object, pointers)));
+
+                permits.acquire();
+                pendingPages.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        BatchDeleteResultDto result = batchDeleter.deleteChunk(new ArrayList<>(sizes.keySet()));
+
+                        metadataCache.invalidateAll(result.deleted());
+                        contentStore.invalidateAll(result.deleted());
+                        presignedUrlCache.invalidateAll(result.deleted());
+                        result.deleted().forEach(key -> bucketStatsService.recordRemoved(key, sizes.get(key)));
+
+                        progressLock.lock();
+                        try {
+                            progressListener.accept(PrefixDeleteProgressDto.progress(prefix,
+                                    pagesProcessed.incrementAndGet(),
+                                    deletedCount.addAndGet(result.deletedCount()),
+                                    failedCount.addAndGet(result.failedCount()),
+                                    result.failed()));
+                        } finally {
+                            progressLock.unlock();
+                        }
+                    } catch (Exception e) {
+                        pipelineFailure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+                pendingPages.removeIf(Future::isDone);
+            }
 
-            logger.info("Exclusão múltipla concluída: {} sucessos, {} erros", deletedCount, errorCount);
-            return deletedCount;
+            for (Future<?> pendingPage : pendingPages) {
+                pendingPage.get();
+            }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingPages.forEach(page -> page.cancel(true));
+            throw new IllegalStateException("Exclusão por prefixo interrompida", e);
+        } catch (ExecutionException e) {
+            pipelineFailure.compareAndSet(null, e.getCause());
         } catch (S3Exception e) {
-            logger.error("Erro durante exclusão múltipla", e);
-            return 0;
+            logger.error("Erro ao listar arquivos para exclusão por prefixo: {}", prefix, e);
+            pendingPages.forEach(page -> page.cancel(true));
+            throw new RuntimeException("Erro ao excluir arquivos por prefixo", e);
         }
+
+        if (pipelineFailure.get() != null) {
+            logger.error("Exclusão por prefixo interrompida após {} arquivos: {}",
+                    deletedCount.get(), prefix, pipelineFailure.get());
+            throw new RuntimeException("Erro ao excluir arquivos por prefixo", pipelineFailure.get());
+        }
+
+        var result = PrefixDeleteProgressDto.done(prefix, pagesProcessed.get(),
+                deletedCount.get(), failedCount.get());
+        progressListener.accept(result);
+
+        logger.info("Exclusão por prefixo concluída: {} - {} excluídos, {} falhas",
+                prefix, result.deletedCount(), result.failedCount());
+        return result;
     }
 
     @Override
     public PresignedUrlDto generatePresignedUrlForDownload(String key, Duration duration) {
         logger.debug("Gerando URL pré-assinada para download: {}", key);
 
-        if (!fileExists(key)) {
-            throw new FileNotFoundException("Arquivo não encontrado", key);
-        }
-
         try {
-            var getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-
-            var presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(duration)
-                    .getObjectRequest(getObjectRequest)
-                    .build();
+            // URLs em cache dispensam tanto a assinatura quanto a verificação de existência
+            PresignedUrlDto cached = presignedUrlCache.getIfPresent(key, duration);
+            if (cached != null) {
+                return cached;
+            }
 
-            var presignedUrl = s3Presigner.presignGetObject(presignRequest);
+            if (!fileExists(key)) {
+                throw new FileNotFoundException("Arquivo não encontrado", key);
+            }
 
-            String fileName = extractFileNameFromKey(key);
-            Instant expiresAt = Instant.now().plus(duration);
+            PresignedUrlDto presignedUrl = presignDownload(key, extractFileNameFromKey(key),
+                    duration, Instant.now().plus(duration));
+            presignedUrlCache.put(key, duration, presignedUrl);
 
-            logger.info("URL pré-assinada gerada para download: {} (expira em: {})", key, expiresAt);
+            logger.info("URL pré-assinada gerada para download: {} (expira em: {})",
+                    key, presignedUrl.expiresAt());
 
-            return PresignedUrlDto.forDownload(
-                    fileName,
-                    key,
-                    presignedUrl.url().toString(),
-                    expiresAt,
-                    (int) duration.toMinutes()
-            );
+            return presignedUrl;
 
         } catch (S3Exception e) {
             logger.error("Erro ao gerar URL pré-assinada para download: {}", key, e);
@@ -366,53 +872,282 @@ public class FileServiceImpl implements FileService {
     public PresignedUrlDto generatePresignedUrlForUpload(String fileName, String contentType, Duration duration) {
         logger.debug("Gerando URL pré-assinada para upload: {}", fileName);
 
-        String key = FileUtils.generateFileKey(fileName);
+        try {
+            PresignedUrlDto presignedUrl = presignUpload(fileName, contentType,
+                    duration, Instant.now().plus(duration));
+
+            logger.info("URL pré-assinada gerada para upload: {} (expira em: {})",
+                    fileName, presignedUrl.expiresAt());
+
+            return presignedUrl;
 
+        } catch (S3Exception e) {
+            logger.error("Erro ao gerar URL pré-assinada para upload: {}", fileName, e);
+            throw new RuntimeException("Erro ao gerar URL pré-assinada", e);
+        }
+    }
+
+    @Override
+    public PresignedUrlBatchDto generatePresignedUrlsForDownload(List<String> keys, Duration duration,
+                                                                 PresignedUrlBatchDto.ExistenceCheck existenceCheck) {
+        List<String> distinctKeys = keys.stream().distinct().toList();
+        validatePresignBatchSize(distinctKeys.size());
+
+        logger.debug("Gerando {} URLs pré-assinadas para download (verificação: {})",
+                distinctKeys.size(), existenceCheck);
+
+        List<String> notFound = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        Map<String, FileInfoDto> knownFiles = new HashMap<>();
+        List<String> keysToSign;
+
+        switch (existenceCheck) {
+            case HEAD -> {
+                FileInfoBatchDto filesInfo = getFilesInfo(distinctKeys);
+                knownFiles.putAll(filesInfo.files());
+                notFound.addAll(filesInfo.notFound());
+                failed.addAll(filesInfo.failed());
+                keysToSign = distinctKeys.stream().filter(knownFiles::containsKey).toList();
+            }
+            case CACHED -> {
+                keysToSign = new ArrayList<>(distinctKeys.size());
+                for (String key : distinctKeys) {
+                    if (!keyExistenceFilter.mightExist(key)) {
+                        notFound.add(key);
+                        continue;
+                    }
+                    FileInfoDto cached = metadataCache.getIfPresent(key);
+                    if (cached != null) {
+                        knownFiles.put(key, cached);
+                    }
+                    keysToSign.add(key);
+                }
+            }
+            default -> keysToSign = distinctKeys;
+        }
+
+        // As novas URLs do lote compartilham o mesmo instante de expiração; as demais vêm do cache
+        // Só entram no cache as URLs de arquivos com existência verificada (HEAD ou metadados em cache):
+        // uma URL sem verificação serviria depois a solicitação individual de uma chave inexistente
+        Instant expiresAt = Instant.now().plus(duration);
         try {
-            var putObjectRequest = PutObjectRequest.builder()
+            List<PresignedUrlDto> urls = new ArrayList<>(keysToSign.size());
+            for (String key : keysToSign) {
+                PresignedUrlDto presignedUrl = presignedUrlCache.getIfPresent(key, duration);
+                if (presignedUrl == null) {
+                    FileInfoDto fileInfo = knownFiles.get(key);
+                    String fileName = fileInfo != null ? fileInfo.fileName() : extractFileNameFromKey(key);
+                    presignedUrl = presignDownload(key, fileName, duration, expiresAt);
+                    if (fileInfo != null) {
+                        presignedUrlCache.put(key, duration, presignedUrl);
+                    }
+                }
+                urls.add(presignedUrl);
+            }
+
+            logger.info("{} URLs pré-assinadas geradas para download ({} inexistentes, {} falhas)",
+                    urls.size(), notFound.size(), failed.size());
+
+            return PresignedUrlBatchDto.of(urls, notFound, failed);
+
+        } catch (SdkException e) {
+            logger.error("Erro ao gerar URLs pré-assinadas para download", e);
+            throw new RuntimeException("Erro ao gerar URL pré-assinada", e);
+        }
+    }
+
+    @Override
+    public PresignedUrlBatchDto generatePresignedUrlsForUpload(List<PresignedUploadRequestDto> files,
+                                                               Duration duration) {
+        validatePresignBatchSize(files.size());
+
+        logger.debug("Gerando {} URLs pré-assinadas para upload", files.size());
+
+        Instant expiresAt = Instant.now().plus(duration);
+        try {
+            List<PresignedUrlDto> urls = files.stream()
+                    .map(file -> presignUpload(file.fileName(),
+                            file.contentType() != null && !file.contentType().isBlank()
+                                    ? file.contentType()
+                                    : FileUtils.getContentType(file.fileName()),
+                            duration, expiresAt))
+                    .toList();
+
+            logger.info("{} URLs pré-assinadas geradas para upload", urls.size());
+
+            return PresignedUrlBatchDto.of(urls, List.of(), List.of());
+
+        } catch (SdkException e) {
+            logger.error("Erro ao gerar URLs pré-assinadas para upload", e);
+            throw new RuntimeException("Erro ao gerar URL pré-assinada", e);
+        }
+    }
+
+    @Override
+    public MultipartUploadDto initiateMultipartUpload(String fileName, String contentType, Long size) {
+        logger.debug("Iniciando upload multipart direto: {}", fileName);
+
+        FileUtils.validateFileName(fileName);
+        if (size != null && (size <= 0 || size > MAX_OBJECT_SIZE)) {
+            throw new FileUploadException(fileName, "Tamanho do arquivo deve estar entre 1 byte e 5 TB");
+        }
+
+        String resolvedContentType = contentType != null && !contentType.isBlank()
+                ? contentType
+                : FileUtils.getContentType(fileName);
+        String key = FileUtils.generateFileKey(fileName);
+
+        var createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(resolvedContentType)
+                .metadata(createFileMetadata(fileName, resolvedContentType))
+                .build();
+
+        String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+
+        // As partes vão direto ao S3, sem passar pela aplicação: a chave entra no filtro já agora
+        keyExistenceFilter.add(key);
+
+        // Arquivos muito grandes precisam de partes maiores para caber no limite de partes
+        long partSize = multipartUploader.getPartSize();
+        Integer partCount = null;
+        if (size != null) {
+            partSize = Math.max(partSize, (size + MAX_MULTIPART_PARTS - 1) / MAX_MULTIPART_PARTS);
+            partCount = (int) ((size + partSize - 1) / partSize);
+        }
+
+        logger.info("Upload multipart direto iniciado - Key: {}, UploadId: {}", key, uploadId);
+
+        return new MultipartUploadDto(uploadId, key, fileName, resolvedContentType, partSize, partCount);
+    }
+
+    @Override
+    public PresignedPartsDto presignMultipartParts(String key, String uploadId, int firstPart, int partCount,
+                                                   Duration duration) {
+        if (firstPart < 1 || partCount < 1 || firstPart + partCount - 1 > MAX_MULTIPART_PARTS) {
+            throw new IllegalArgumentException(
+                    String.format("As partes devem estar entre 1 e %d", MAX_MULTIPART_PARTS));
+        }
+        validatePresignBatchSize(partCount);
+
+        logger.debug("Gerando {} URLs pré-assinadas de partes a partir da parte {} - Key: {}",
+                partCount, firstPart, key);
+
+        Instant expiresAt = Instant.now().plus(duration);
+        List<PresignedPartsDto.Part> parts = new ArrayList<>(partCount);
+
+        for (int partNumber = firstPart; partNumber < firstPart + partCount; partNumber++) {
+            var uploadPartRequest = UploadPartRequest.builder()
                     .bucket(bucketName)
                     .key(key)
-                    .contentType(contentType)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
                     .build();
 
-            var presignRequest = PutObjectPresignRequest.builder()
+            var presignRequest = UploadPartPresignRequest.builder()
                     .signatureDuration(duration)
-                    .putObjectRequest(putObjectRequest)
+                    .uploadPartRequest(uploadPartRequest)
                     .build();
 
-            var presignedUrl = s3Presigner.presignPutObject(presignRequest);
+            parts.add(new PresignedPartsDto.Part(partNumber,
+                    s3Presigner.presignUploadPart(presignRequest).url().toString()));
+        }
 
-            Instant expiresAt = Instant.now().plus(duration);
+        return new PresignedPartsDto(uploadId, key, expiresAt, parts);
+    }
 
-            logger.info("URL pré-assinada gerada para upload: {} (expira em: {})", fileName, expiresAt);
+    @Override
+    public List<MultipartPartDto> listMultipartParts(String key, String uploadId) {
+        var listRequest = ListPartsRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .build();
 
-            return PresignedUrlDto.forUpload(
-                    fileName,
-                    key,
-                    presignedUrl.url().toString(),
-                    expiresAt,
-                    (int) duration.toMinutes()
-            );
+        try {
+            return s3Client.listPartsPaginator(listRequest).parts().stream()
+                    .map(part -> new MultipartPartDto(part.partNumber(), part.eTag(), part.size()))
+                    .toList();
 
         } catch (S3Exception e) {
-            logger.error("Erro ao gerar URL pré-assinada para upload: {}", fileName, e);
-            throw new RuntimeException("Erro ao gerar URL pré-assinada", e);
+            throw toMultipartClientError(key, e);
         }
     }
 
     @Override
-    public boolean fileExists(String key) {
+    public FileInfoDto completeMultipartUpload(String key, String uploadId, List<MultipartPartDto> parts) {
+        logger.debug("Concluindo upload multipart direto - Key: {}, Partes: {}", key, parts.size());
+
+        // O S3 exige as partes em ordem crescente
+        List<CompletedPart> completedParts = parts.stream()
+                .sorted(Comparator.comparing(MultipartPartDto::partNumber))
+                .map(part -> CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build())
+                .toList();
+
+        var completeRequest = CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build();
+
         try {
-            var headRequest = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
+            s3Client.completeMultipartUpload(completeRequest);
+        } catch (S3Exception e) {
+            throw toMultipartClientError(key, e);
+        }
+        metadataCache.invalidate(key);
+        contentStore.invalidate(key);
+        presignedUrlCache.invalidate(key);
 
-            s3Client.headObject(headRequest);
-            return true;
+        // A conclusão não informa o tamanho do objeto
+        FileInfoDto fileInfo = getFileInfo(key);
+        bucketStatsService.recordAdded(key, fileInfo.size());
 
-        } catch (NoSuchKeyException e) {
+        logger.info("Upload multipart direto concluído - Key: {}, Partes: {}, Tamanho: {} bytes",
+                key, completedParts.size(), fileInfo.size());
+        return fileInfo;
+    }
+
+    /**
+     * Erros 400 do S3 na conclusão ou listagem do multipart direto (InvalidPart, InvalidPartOrder,
+     * EntityTooSmall) vêm das partes e ETags informados pelo cliente: viram erro de upload (400)
+     * Os demais erros seguem para o tratamento geral das exceções do S3
+     */
+    private static RuntimeException toMultipartClientError(String key, S3Exception e) {
+        if (e.statusCode() != 400) {
+            return e;
+        }
+        String reason = e.awsErrorDetails() != null ? e.awsErrorDetails().errorMessage() : e.getMessage();
+        return new FileUploadException(key, "Partes do upload multipart inválidas: " + reason, e);
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+
+        logger.info("Upload multipart direto abortado - Key: {}, UploadId: {}", key, uploadId);
+    }
+
+    @Override
+    public boolean fileExists(String key) {
+        // Um "não" do filtro é definitivo e dispensa o HEAD; só os "talvez" consultam o S3
+        if (!keyExistenceFilter.mightExist(key)) {
+            logger.debug("Arquivo inexistente segundo o filtro de chaves: {}", key);
             return false;
+        }
+
+        try {
+            return cachedFileInfo(key) != null;
+
         } catch (S3Exception e) {
             logger.error("Erro ao verificar existência do arquivo: {}", key, e);
             return false;
@@ -420,40 +1155,542 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public FileInfoDto copyFile(String sourceKey, String destinationKey) {
-        logger.debug("Copiando arquivo de {} para {}", sourceKey, destinationKey);
+    public FileInfoBatchDto getFilesInfo(List<String> keys) {
+        List<String> distinctKeys = keys.stream().distinct().toList();
+        if (distinctKeys.size() > infoBatchMaxKeys) {
+            throw new IllegalArgumentException(
+                    String.format("Máximo de %d chaves por consulta", infoBatchMaxKeys));
+        }
+
+        logger.debug("Consultando metadados de {} arquivos", distinctKeys.size());
+
+        List<Callable<FileInfoDto>> heads = distinctKeys.stream()
+                .map(key -> (Callable<FileInfoDto>) () ->
+                        keyExistenceFilter.mightExist(key) ? cachedFileInfo(key) : null)
+                .toList();
+        List<Future<FileInfoDto>> pendingHeads = new ArrayList<>();
 
-        if (!fileExists(sourceKey)) {
-            throw new FileNotFoundException("Arquivo origem não encontrado", sourceKey);
+        Map<String, FileInfoDto> files = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+
+        try {
+            pendingHeads = submitAll(heads, metadataMaxConcurrency);
+            for (int i = 0; i < distinctKeys.size(); i++) {
+                String key = distinctKeys.get(i);
+                try {
+                    FileInfoDto fileInfo = pendingHeads.get(i).get();
+                    if (fileInfo != null) {
+                        files.put(key, fileInfo);
+                    } else {
+                        notFound.add(key);
+                    }
+                } catch (ExecutionException e) {
+                    logger.warn("Erro ao obter informações do arquivo {}: {}", key, e.getCause().getMessage());
+                    failed.add(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingHeads.forEach(head -> head.cancel(true));
+            throw new IllegalStateException("Consulta de metadados interrompida", e);
         }
 
+        logger.debug("Consulta de metadados concluída: {} encontrados, {} inexistentes, {} falhas",
+                files.size(), notFound.size(), failed.size());
+        return FileInfoBatchDto.of(files, notFound, failed);
+    }
+
+    @Override
+    public FileInfoDto copyFile(String sourceKey, String destinationKey) {
+        logger.debug("Copiando arquivo de {} para {}", sourceKey, destinationKey);
+        requireFileKey(sourceKey);
+        requireFileKey(destinationKey);
+
         try {
-            var copyRequest = CopyObjectRequest.builder()
-                    .sourceBucket(bucketName)
-                    .sourceKey(sourceKey)
-                    .destinationBucket(bucketName)
-                    .destinationKey(destinationKey)
-                    .build();
+            FileInfoDto sourceFile = keyExistenceFilter.mightExist(sourceKey) ? cachedFileInfo(sourceKey) : null;
+            if (sourceFile == null) {
+                throw new FileNotFoundException("Arquivo origem não encontrado", sourceKey);
+            }
 
-            var response = s3Client.copyObject(copyRequest);
+            Long replacedSize = replacedObjectSize(destinationKey);
+            var result = copyObject(sourceKey, sourceFile.size(), destinationKey);
+            keyExistenceFilter.add(destinationKey);
+            contentStore.invalidate(destinationKey);
+            presignedUrlCache.invalidate(destinationKey);
 
             logger.info("Arquivo copiado com sucesso: {} -> {}", sourceKey, destinationKey);
 
-            // Retorna informações do arquivo copiado
-            return getFileInfo(destinationKey);
+            // O destino tem o conteúdo e os metadados da origem: só ETag e data vêm da cópia,
+            // dispensando o HEAD após a cópia (a conclusão do multipart não informa a data)
+            // A cópia de um ponteiro do modo de deduplicação mantém o ETag do blob
+            String eTag = contentStore.resolve(sourceKey) != null ? sourceFile.eTag() : result.eTag();
+            FileInfoDto copiedFile;
+            if (result.lastModified() != null) {
+                copiedFile = FileInfoDto.of(sourceFile.fileName(), destinationKey, sourceFile.size(),
+                        sourceFile.contentType(), eTag, result.lastModified(),
+                        fileInfoMapper.buildFileUrl(destinationKey));
+                metadataCache.put(copiedFile);
+            } else {
+                metadataCache.invalidate(destinationKey);
+                copiedFile = getFileInfo(destinationKey);
+            }
+
+            if (replacedSize != null) {
+                bucketStatsService.recordRemoved(destinationKey, replacedSize);
+            }
+            bucketStatsService.recordAdded(destinationKey, copiedFile.size());
+            return copiedFile;
 
         } catch (S3Exception e) {
             logger.error("Erro ao copiar arquivo: {} -> {}", sourceKey, destinationKey, e);
             throw new RuntimeException("Erro ao copiar arquivo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cópia de arquivo interrompida", e);
+        }
+    }
+
+    @Override
+    public PrefixCopyResultDto copyByPrefix(String sourcePrefix, String destinationPrefix, boolean move) {
+        if (sourcePrefix == null || sourcePrefix.isBlank()) {
+            throw new IllegalArgumentException("Prefixo origem não pode estar vazio");
         }
+        if (destinationPrefix == null || destinationPrefix.isBlank()) {
+            throw new IllegalArgumentException("Prefixo destino não pode estar vazio");
+        }
+        requireFilePrefix(sourcePrefix);
+        requireFilePrefix(destinationPrefix);
+        if (destinationPrefix.startsWith(sourcePrefix)) {
+            // As cópias reapareceriam na própria listagem da origem
+            throw new IllegalArgumentException("O prefixo destino não pode estar contido no prefixo origem");
+        }
+
+        logger.info("Iniciando {} por prefixo: {} -> {}", move ? "movimentação" : "cópia",
+                sourcePrefix, destinationPrefix);
+
+        var listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(sourcePrefix)
+                .maxKeys(S3BatchDeleter.MAX_KEYS_PER_REQUEST)
+                .build();
+
+        // Limite global de cópias simultâneas, compartilhado entre as páginas em andamento
+        Semaphore copyPermits = new Semaphore(copyMaxConcurrency);
+        Semaphore pagePermits = new Semaphore(COPY_PAGES_IN_FLIGHT);
+        var totals = new CopyTotals();
+        List<Future<?>> pendingPages = new ArrayList<>();
+
+        try {
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(listRequest)) {
+                List<S3Object> objects = page.contents().stream()
+                        .filter(object -> !ContentAddressedStore.isBlobKey(object.key()))
+                        .toList();
+                if (objects.isEmpty()) {
+                    continue;
+                }
+
+                pagePermits.acquire();
+                pendingPages.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        copyPage(objects, sourcePrefix, destinationPrefix, move, copyPermits, totals);
+                    } finally {
+                        pagePermits.release();
+                    }
+                    return null;
+                }));
+                pendingPages.removeIf(pendingPage -> pendingPage.state() == Future.State.SUCCESS);
+            }
+
+            for (Future<?> pendingPage : pendingPages) {
+                pendingPage.get();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingPages.forEach(page -> page.cancel(true));
+            throw new IllegalStateException("Cópia por prefixo interrompida", e);
+        } catch (ExecutionException e) {
+            // Falhas do S3 por arquivo viram resultado; aqui só chegam erros inesperados
+            pendingPages.forEach(page -> page.cancel(true));
+            throw new IllegalStateException("Erro inesperado na cópia por prefixo", e.getCause());
+        } catch (S3Exception e) {
+            logger.error("Erro ao listar arquivos para cópia por prefixo: {}", sourcePrefix, e);
+            pendingPages.forEach(page -> page.cancel(true));
+            throw new RuntimeException("Erro ao copiar arquivos por prefixo", e);
+        }
+
+        var result = PrefixCopyResultDto.of(sourcePrefix, destinationPrefix, move,
+                totals.copied.sum(), totals.copiedBytes.sum(), totals.deleted.sum(),
+                new ArrayList<>(totals.failed));
+
+        logger.info("{} - {} falhas", result.message(), result.failed().size());
+        return result;
     }
 
     /**
      * Métodos utilitários privados
      */
 
-    private java.util.Map<String, String> createFileMetadata(String originalFilename, String contentType) {
-        return java.util.Map.of(
+    /**
+     * Submete as tarefas ao executor garantindo no máximo {@code maxConcurrency} em execução
+     * Quem submete aguarda uma vaga antes de cada tarefa: as excedentes não chegam ao executor,
+     * que no modo de threads de plataforma criaria uma thread para cada uma
+     * Se a espera for interrompida, as tarefas já submetidas são canceladas
+     */
+    private <T> List<Future<T>> submitAll(List<Callable<T>> tasks, int maxConcurrency) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+
+        try {
+            for (Callable<T> task : tasks) {
+                permits.acquire();
+                futures.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return futures;
+    }
+
+    /**
+     * Assina um GET do objeto; nenhuma chamada ao S3 é feita, exceto a resolução de ponteiros
+     * fora do cache no modo de deduplicação (a URL assinada aponta para o blob com o conteúdo)
+     */
+    private PresignedUrlDto presignDownload(String key, String fileName, Duration duration, Instant expiresAt) {
+        var pointer = contentStore.resolve(key);
+
+        var getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(pointer != null ? pointer.blobKey() : key)
+                .build();
+
+        var presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(duration)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        var presignedUrl = s3Presigner.presignGetObject(presignRequest);
+
+        return PresignedUrlDto.forDownload(
+                fileName,
+                key,
+                presignedUrl.url().toString(),
+                expiresAt,
+                (int) duration.toMinutes()
+        );
+    }
+
+    /**
+     * Gera uma nova chave para o arquivo e assina o PUT; nenhuma chamada ao S3 é feita
+     */
+    private PresignedUrlDto presignUpload(String fileName, String contentType, Duration duration, Instant expiresAt) {
+        String key = FileUtils.generateFileKey(fileName);
+
+        var putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        var presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(duration)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        var presignedUrl = s3Presigner.presignPutObject(presignRequest);
+
+        // O upload acontece direto no S3, sem passar pela aplicação: a chave entra no filtro já agora
+        keyExistenceFilter.add(key);
+
+        return PresignedUrlDto.forUpload(
+                fileName,
+                key,
+                presignedUrl.url().toString(),
+                expiresAt,
+                (int) duration.toMinutes()
+        );
+    }
+
+    private void validatePresignBatchSize(int size) {
+        if (size > presignBatchMaxKeys) {
+            throw new IllegalArgumentException(
+                    String.format("Máximo de %d URLs por requisição", presignBatchMaxKeys));
+        }
+    }
+
+    /**
+     * Copia os objetos de uma página da listagem e, na movimentação, exclui em um único
+     * DeleteObjects as origens copiadas com sucesso
+     */
+    private void copyPage(List<S3Object> objects, String sourcePrefix, String destinationPrefix, boolean move,
+                          Semaphore copyPermits, CopyTotals totals) throws InterruptedException {
+        var pointers = contentStore.resolveListed(objects);
+        List<Future<Boolean>> copies = new ArrayList<>(objects.size());
+
+        Map<String, Long> copiedSources = new LinkedHashMap<>();
+        try {
+            // A vaga é obtida antes de submeter: as cópias excedentes não ocupam threads do executor
+            for (S3Object object : objects) {
+                copyPermits.acquire();
+                copies.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        String destinationKey = destinationPrefix + object.key().substring(sourcePrefix.length());
+                        return copyListedObject(object, listedSize(object, pointers), destinationKey, totals);
+                    } finally {
+                        copyPermits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < objects.size(); i++) {
+                S3Object object = objects.get(i);
+                try {
+                    if (copies.get(i).get()) {
+                        copiedSources.put(object.key(), listedSize(object, pointers));
+                    }
+                } catch (ExecutionException e) {
+                    // Falhas do S3 já viram resultado em copyListedObject; um erro inesperado na cópia
+                    // de um arquivo também é registrado como falha dele, sem abortar as demais
+                    Throwable cause = e.getCause();
+                    logger.error("Erro inesperado ao copiar arquivo {}", object.key(), cause);
+                    totals.failed.add(new BatchDeleteResultDto.Failure(object.key(),
+                            cause.getClass().getSimpleName(), cause.getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            copies.forEach(copy -> copy.cancel(true));
+            throw e;
+        }
+
+        if (move && !copiedSources.isEmpty()) {
+            BatchDeleteResultDto deletion = batchDeleter.deleteChunk(new ArrayList<>(copiedSources.keySet()));
+
+            metadataCache.invalidateAll(deletion.deleted());
+            contentStore.invalidateAll(deletion.deleted());
+            presignedUrlCache.invalidateAll(deletion.deleted());
+            deletion.deleted().forEach(key -> bucketStatsService.recordRemoved(key, copiedSources.get(key)));
+            totals.deleted.add(deletion.deletedCount());
+            totals.failed.addAll(deletion.failed());
+        }
+    }
+
+    /**
+     * Copia um objeto da listagem, que já traz o tamanho: nenhum HEAD é necessário
+     *
+     * @param size Tamanho do conteúdo; para ponteiros do modo de deduplicação, o do blob
+     * @return true se a cópia foi concluída; falhas do S3 são registradas em {@code totals}
+     */
+    private boolean copyListedObject(S3Object object, long size, String destinationKey,
+                                     CopyTotals totals) throws InterruptedException {
+        if (ContentAddressedStore.isBlobKey(destinationKey)) {
+            totals.failed.add(new BatchDeleteResultDto.Failure(object.key(), "InvalidDestination",
+                    "O destino " + destinationKey + " pertence à área de conteúdo deduplicado"));
+            return false;
+        }
+
+        try {
+            Long replacedSize = replacedObjectSize(destinationKey);
+            copyObject(object.key(), object.size(), destinationKey);
+
+            metadataCache.invalidate(destinationKey);
+            contentStore.invalidate(destinationKey);
+            presignedUrlCache.invalidate(destinationKey);
+            keyExistenceFilter.add(destinationKey);
+            if (replacedSize != null) {
+                bucketStatsService.recordRemoved(destinationKey, replacedSize);
+            }
+            bucketStatsService.recordAdded(destinationKey, size);
+            totals.copied.increment();
+            totals.copiedBytes.add(size);
+            return true;
+
+        } catch (SdkException e) {
+            logger.warn("Erro ao copiar arquivo {} -> {}: {}", object.key(), destinationKey, e.getMessage());
+            String code = e instanceof S3Exception s3Exception && s3Exception.awsErrorDetails() != null
+                    ? s3Exception.awsErrorDetails().errorCode()
+                    : e.getClass().getSimpleName();
+            totals.failed.add(new BatchDeleteResultDto.Failure(object.key(), code, e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * Copia o objeto dentro do bucket, via multipart paralelo acima do threshold
+     * No multipart, o resultado traz apenas o ETag
+     */
+    private CopyObjectResult copyObject(String sourceKey, long size,
+                                        String destinationKey) throws InterruptedException {
+        // Um ponteiro não tem corpo (o tamanho é o do blob): a cópia simples leva junto os metadados
+        if (multipartCopier.shouldUseMultipart(size) && contentStore.resolve(sourceKey) == null) {
+            String eTag = multipartCopier.copy(sourceKey, destinationKey);
+            return CopyObjectResult.builder().eTag(eTag).build();
+        }
+
+        var copyRequest = CopyObjectRequest.builder()
+                .sourceBucket(bucketName)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucketName)
+                .destinationKey(destinationKey)
+                .build();
+
+        return s3Client.copyObject(copyRequest).copyObjectResult();
+    }
+
+    /**
+     * Totais de uma cópia por prefixo, atualizados pelas páginas em paralelo
+     */
+    private static final class CopyTotals {
+        private final LongAdder copied = new LongAdder();
+        private final LongAdder copiedBytes = new LongAdder();
+        private final LongAdder deleted = new LongAdder();
+        private final Queue<BatchDeleteResultDto.Failure> failed = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Corpo da requisição de upload bruto, que registra os bytes lidos e as falhas de leitura
+     * Permite distinguir, em uma falha do SDK, o corpo interrompido pelo cliente de um erro com o S3
+     */
+    private static final class RequestBodyInputStream extends FilterInputStream {
+        private volatile long bytesRead;
+        private volatile boolean ended;
+        private volatile boolean readFailed;
+
+        RequestBodyInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int value = super.read();
+                count(value == -1 ? -1 : 1);
+                return value;
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                int read = super.read(buffer, offset, length);
+                count(read);
+                return read;
+            } catch (IOException e) {
+                readFailed = true;
+                throw e;
+            }
+        }
+
+        /**
+         * Verifica se o corpo falhou na leitura ou terminou antes do tamanho declarado
+         */
+        boolean isIncomplete(long contentLength) {
+            return readFailed || (ended && bytesRead < contentLength);
+        }
+
+        private void count(int read) {
+            if (read == -1) {
+                ended = true;
+            } else {
+                bytesRead += read;
+            }
+        }
+    }
+
+    /**
+     * Obtém os metadados do objeto pelo cache, com HEAD no S3 apenas em caso de falha no cache
+     *
+     * @return Metadados do arquivo ou null se ele não existir
+     */
+    private FileInfoDto cachedFileInfo(String key) {
+        return metadataCache.get(key, this::headFileInfo);
+    }
+
+    private FileInfoDto headFileInfo(String key) {
+        try {
+            var headRequest = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build();
+
+            var response = s3Client.headObject(headRequest);
+
+            return fileInfoMapper.toFileInfoDto(key, response.metadata(), response.contentLength(),
+                    response.contentType(), response.eTag(), response.lastModified());
+
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtém o tamanho do objeto, ou null se ele não existir
+     */
+    private Long objectSize(String key) {
+        try {
+            FileInfoDto fileInfo = cachedFileInfo(key);
+            return fileInfo != null ? fileInfo.size() : null;
+
+        } catch (S3Exception e) {
+            logger.error("Erro ao verificar existência do arquivo: {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Tamanho dos objetos cujos metadados estão em cache, sem consultar o S3
+     */
+    private Map<String, Long> cachedSizes(List<String> keys) {
+        Map<String, Long> sizes = new HashMap<>();
+        for (String key : keys) {
+            FileInfoDto fileInfo = metadataCache.getIfPresent(key);
+            if (fileInfo != null) {
+                sizes.put(key, fileInfo.size());
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Tamanho do objeto que a cópia vai sobrescrever, para que as estatísticas não o contem duas vezes
+     * O filtro de chaves dispensa o HEAD quando o destino certamente não existe
+     *
+     * @return Tamanho do objeto ou null se o destino não existir
+     */
+    private Long replacedObjectSize(String destinationKey) {
+        return keyExistenceFilter.mightExist(destinationKey) ? objectSize(destinationKey) : null;
+    }
+
+    private String putObject(String key, InputStream inputStream, long contentLength,
+                             String contentType, Map<String, String> metadata) throws IOException {
+        if (multipartUploader.shouldUseMultipart(contentLength)) {
+            return multipartUploader.upload(key, inputStream, contentType, metadata);
+        }
+
+        var putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .metadata(metadata)
+                .build();
+
+        return s3Client.putObject(putObjectRequest,
+                RequestBody.fromInputStream(inputStream, contentLength)).eTag();
+    }
+
+    static Map<String, String> createFileMetadata(String originalFilename, String contentType) {
+        return Map.of(
                 "original-filename", originalFilename,
                 "content-type", contentType,
                 "upload-timestamp", Instant.now().toString(),
@@ -461,20 +1698,72 @@ public class FileServiceImpl implements FileService {
         );
     }
 
-    private FileInfoDto convertToFileInfoDto(S3Object s3Object) {
-        String fileName = extractFileNameFromKey(s3Object.key());
-        return FileInfoDto.of(
-                fileName,
-                s3Object.key(),
-                s3Object.size(),
-                FileUtils.getContentType(fileName),
-                s3Object.eTag(),
-                s3Object.lastModified(),
-                buildFileUrl(s3Object.key())
-        );
+    /**
+     * O cursor exposto na API é o token de continuação do S3 em Base64 URL-safe,
+     * para poder trafegar em query string sem escapes
+     */
+    static String encodeCursor(String continuationToken) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(continuationToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    /**
+     * Extrai o tamanho total do objeto de um Content-Range ("bytes 0-99/1000")
+     */
+    static Long parseTotalSize(String contentRange) {
+        String total = contentRange.substring(contentRange.lastIndexOf('/') + 1);
+        return "*".equals(total) ? null : Long.valueOf(total);
+    }
+
+    /**
+     * Converte uma página da listagem, omitindo os blobs e resolvendo antes os ponteiros
+     */
+    private List<FileInfoDto> convertToFileInfoDtos(List<S3Object> s3Objects) {
+        List<S3Object> files = s3Objects.stream()
+                .filter(s3Object -> !ContentAddressedStore.isBlobKey(s3Object.key()))
+                .toList();
+        var pointers = contentStore.resolveListed(files);
+
+        return files.stream()
+                .map(s3Object -> fileInfoMapper.toFileInfoDto(s3Object, pointers.get(s3Object.key())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tamanho de um objeto listado; para ponteiros do modo de deduplicação, o tamanho do blob
+     */
+    private static long listedSize(S3Object s3Object, Map<String, ContentAddressedStore.BlobPointer> pointers) {
+        var pointer = pointers.get(s3Object.key());
+        return pointer != null ? pointer.size() : s3Object.size();
     }
 
-    private String extractFileNameFromKey(String key) {
+    /**
+     * Blobs do modo de deduplicação são compartilhados entre ponteiros: não são alterados diretamente
+     */
+    private static void requireFileKey(String key) {
+        if (ContentAddressedStore.isBlobKey(key)) {
+            throw new IllegalArgumentException("Chave de conteúdo deduplicado não pode ser alterada: " + key);
+        }
+    }
+
+    private static void requireFilePrefix(String prefix) {
+        if (ContentAddressedStore.isBlobPrefix(prefix)) {
+            throw new IllegalArgumentException("Prefixo de conteúdo deduplicado não pode ser alterado: " + prefix);
+        }
+    }
+
+    static String extractFileNameFromKey(String key) {
         if (key == null || key.isEmpty()) {
             return "unknown";
         }
@@ -486,8 +1775,4 @@ public class FileServiceImpl implements FileService {
         }
         return key;
     }
-
-    private String buildFileUrl(String key) {
-        return String.format("%s/%s/%s", s3Endpoint, bucketName, key);
-    }
 }
\ No newline at end of file
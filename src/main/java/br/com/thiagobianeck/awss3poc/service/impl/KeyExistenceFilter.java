@@ -0,0 +1,144 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro de Bloom sobre as chaves do bucket para responder consultas de existência negativas sem HEAD
+ * Construído por varredura paginada, alimentado a cada chave criada pela aplicação e reconstruído
+ * periodicamente. Exclusões não removem chaves do filtro: até a próxima reconstrução a chave excluída
+ * responde "talvez" e a consulta segue para o S3
+ *
+ * @author Bianeck
+ */
+@Component
+public class KeyExistenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyExistenceFilter.class);
+
+    private final S3Client s3Client;
+    private final ExecutorService s3TaskExecutor;
+    private final String bucketName;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    /**
+     * Filtro em uso e filtro em construção, publicados juntos: a troca ao fim da reconstrução é atômica
+     */
+    private volatile Filters filters = new Filters(null, null);
+
+    private volatile long keyCount;
+
+    public KeyExistenceFilter(S3Client s3Client,
+                              @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                              @Value("${aws.s3.bucket-name}") String bucketName,
+                              @Value("${app.bloom.expected-keys:1000000}") long expectedKeys,
+                              @Value("${app.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.s3Client = s3Client;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        s3TaskExecutor.submit(this::rebuild);
+    }
+
+    /**
+     * Indica se a chave pode existir no bucket
+     *
+     * @return false apenas quando a chave certamente não existe
+     */
+    public boolean mightExist(String key) {
+        BloomFilter current = filters.current();
+        return current == null || current.mightContain(key);
+    }
+
+    /**
+     * Registra uma chave criada (ou que pode vir a ser criada, como em URLs pré-assinadas de upload)
+     * Se uma reconstrução publicar novos filtros durante o registro, a chave é registrada de novo
+     * neles, para que não fique apenas no filtro descartado
+     */
+    public void add(String key) {
+        Filters current;
+        do {
+            current = filters;
+            if (current.current() != null) {
+                current.current().put(key);
+            }
+            if (current.pending() != null) {
+                current.pending().put(key);
+            }
+        } while (current != filters);
+    }
+
+    /**
+     * Reconstrói o filtro a partir de uma varredura completa do bucket,
+     * descartando as chaves que já foram excluídas
+     */
+    @Scheduled(initialDelayString = "${app.bloom.rebuild-interval:1h}",
+            fixedDelayString = "${app.bloom.rebuild-interval:1h}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.debug("Reconstrução do filtro de chaves já em andamento");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        try {
+            // A capacidade acompanha o crescimento do bucket observado na última varredura
+            BloomFilter next = BloomFilter.create(Math.max(expectedKeys, keyCount * 2), falsePositiveRate);
+            filters = new Filters(filters.current(), next);
+
+            var listRequest = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .build();
+
+            long count = 0;
+            for (S3Object s3Object : s3Client.listObjectsV2Paginator(listRequest).contents()) {
+                next.put(s3Object.key());
+                count++;
+            }
+
+            filters = new Filters(next, null);
+            keyCount = count;
+
+            logger.info("Filtro de chaves reconstruído: {} chaves, {} bits em {} ms",
+                    count, next.bitSize(), System.currentTimeMillis() - start);
+
+        } catch (SdkException e) {
+            logger.error("Erro ao reconstruir filtro de chaves do bucket: {}", bucketName, e);
+        } finally {
+            if (filters.pending() != null) {
+                filters = new Filters(filters.current(), null);
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * @param current Filtro em uso; null até a primeira construção terminar (consultas respondem "talvez")
+     * @param pending Filtro em construção, que também recebe as chaves criadas durante a varredura
+     */
+    private record Filters(BloomFilter current, BloomFilter pending) {
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cache limitado das URLs pré-assinadas de download, por chave e duração solicitada
+ * Uma URL é reaproveitada enquanto ainda resta ao menos {@code minRemainingValidity} da sua validade;
+ * depois disso a entrada expira e a próxima solicitação assina uma nova
+ * A assinatura e o HEAD de existência ficam fora do cache: o compute do Caffeine não executa I/O
+ * Exclusões, cópias e movimentações feitas pela aplicação removem as URLs da chave: no modo de deduplicação
+ * a URL aponta para o blob, que continua existindo depois que o ponteiro é excluído ou substituído
+ * Métricas de acerto, falha e remoção ficam disponíveis como cache.* com a tag cache=presigned-urls
+ *
+ * @author Bianeck
+ */
+@Component
+public class PresignedUrlCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresignedUrlCache.class);
+
+    private final Cache<CacheKey, PresignedUrlDto> cache;
+    private final double minRemainingValidity;
+
+    public PresignedUrlCache(MeterRegistry meterRegistry,
+                             @Value("${app.cache.presigned-url.max-size:10000}") long maxSize,
+                             @Value("${app.cache.presigned-url.min-remaining-validity:0.8}") double minRemainingValidity) {
+        if (minRemainingValidity <= 0 || minRemainingValidity > 1) {
+            throw new IllegalArgumentException(
+                    "app.cache.presigned-url.min-remaining-validity deve estar entre 0 (exclusivo) e 1");
+        }
+
+        this.minRemainingValidity = minRemainingValidity;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating(this::reuseWindow))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "presigned-urls");
+
+        logger.info("Cache de URLs pré-assinadas configurado - tamanho máximo: {}, validade mínima restante: {}%",
+                maxSize, Math.round(minRemainingValidity * 100));
+    }
+
+    /**
+     * Retorna a URL em cache para a chave e duração, sem assinar nem consultar o S3
+     *
+     * @param key Chave do arquivo no S3
+     * @param duration Duração da validade solicitada
+     * @return URL pré-assinada com ao menos {@code minRemainingValidity} da validade restante,
+     *         ou null se não houver uma em cache
+     */
+    public PresignedUrlDto getIfPresent(String key, Duration duration) {
+        return cache.getIfPresent(new CacheKey(key, duration));
+    }
+
+    /**
+     * Armazena uma URL recém-assinada
+     * Só devem ser armazenadas URLs de arquivos cuja existência foi verificada: uma URL em cache
+     * dispensa a verificação nas próximas solicitações
+     */
+    public void put(String key, Duration duration, PresignedUrlDto presignedUrl) {
+        cache.put(new CacheKey(key, duration), presignedUrl);
+    }
+
+    /**
+     * Remove as URLs em cache de uma chave alterada ou excluída, em todas as durações
+     */
+    public void invalidate(String key) {
+        cache.asMap().keySet().removeIf(cacheKey -> cacheKey.key().equals(key));
+    }
+
+    /**
+     * Remove as URLs em cache de várias chaves, em uma única passagem pelo cache
+     */
+    public void invalidateAll(Collection<String> keys) {
+        Set<String> invalidated = new HashSet<>(keys);
+        cache.asMap().keySet().removeIf(cacheKey -> invalidated.contains(cacheKey.key()));
+    }
+
+    /**
+     * Tempo durante o qual a URL pode ser entregue: até restar apenas a fração mínima da validade
+     */
+    private Duration reuseWindow(CacheKey cacheKey, PresignedUrlDto presignedUrl) {
+        Duration minRemaining = Duration.ofMillis((long) (cacheKey.duration().toMillis() * minRemainingValidity));
+        Duration window = Duration.between(Instant.now(), presignedUrl.expiresAt().minus(minRemaining));
+        return window.isNegative() ? Duration.ZERO : window;
+    }
+
+    private record CacheKey(String key, Duration duration) {
+    }
+}
@@ -0,0 +1,265 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FileStreamDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.exception.InvalidRangeException;
+import br.com.thiagobianeck.awss3poc.service.BucketStatsService;
+import br.com.thiagobianeck.awss3poc.service.ReactiveFileService;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.ResponsePublisher;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Implementação reativa do serviço de arquivos sobre o S3AsyncClient (app.reactive.enabled=true)
+ * O corpo das requisições é repassado ao PutObject e o corpo do GetObject à resposta como publishers:
+ * cada bloco só é lido de uma ponta quando a outra pede mais dados, sem threads bloqueadas
+ *
+ * @author Bianeck
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveFileServiceImpl implements ReactiveFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveFileServiceImpl.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final BucketStatsService bucketStatsService;
+    private final FileMetadataCache metadataCache;
+    private final KeyExistenceFilter keyExistenceFilter;
+    private final S3FileInfoMapper fileInfoMapper;
+    private final String bucketName;
+
+    public ReactiveFileServiceImpl(S3AsyncClient s3AsyncClient,
+                                   BucketStatsService bucketStatsService,
+                                   FileMetadataCache metadataCache,
+                                   KeyExistenceFilter keyExistenceFilter,
+                                   @Value("${aws.s3.bucket-name}") String bucketName,
+                                   @Value("${aws.s3.endpoint}") String s3Endpoint,
+                                   @Value("${app.file.dedup.enabled:false}") boolean dedupEnabled) {
+        // Os ponteiros do modo de deduplicação não têm corpo: o GetObject direto entregaria arquivos vazios
+        if (dedupEnabled) {
+            throw new IllegalStateException("app.file.dedup.enabled não é suportado com app.reactive.enabled=true");
+        }
+
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketStatsService = bucketStatsService;
+        this.metadataCache = metadataCache;
+        this.keyExistenceFilter = keyExistenceFilter;
+        this.fileInfoMapper = new S3FileInfoMapper(bucketName, s3Endpoint);
+        this.bucketName = bucketName;
+
+        logger.info("ReactiveFileService inicializado sobre o S3AsyncClient com bucket: {}", bucketName);
+    }
+
+    @Override
+    public Mono<FileInfoDto> uploadFile(String fileName, long contentLength, Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            logger.debug("Iniciando upload reativo do arquivo: {} ({} bytes)", fileName, contentLength);
+
+            // Nome e tamanho declarado são validados antes de qualquer byte do corpo ser lido
+            FileUtils.validateFile(fileName, contentLength);
+
+            String key = FileUtils.generateFileKey(fileName);
+            String contentType = FileUtils.getContentType(fileName);
+
+            var putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .metadata(FileServiceImpl.createFileMetadata(fileName, contentType))
+                    .build();
+
+            Flux<ByteBuffer> body = content.map(ReactiveFileServiceImpl::toByteBuffer);
+
+            return Mono.fromFuture(() -> s3AsyncClient.putObject(putObjectRequest, knownLength(body, contentLength)))
+                    .map(response -> {
+                        logger.info("Upload reativo realizado com sucesso - Key: {}, ETag: {}", key, response.eTag());
+                        metadataCache.invalidate(key);
+                        keyExistenceFilter.add(key);
+                        bucketStatsService.recordAdded(key, contentLength);
+
+                        return FileInfoDto.of(
+                                fileName,
+                                key,
+                                contentLength,
+                                contentType,
+                                response.eTag(),
+                                Instant.now(),
+                                fileInfoMapper.buildFileUrl(key)
+                        );
+                    })
+                    .onErrorMap(SdkException.class, e -> {
+                        logger.error("Erro do S3 durante upload reativo: {}", fileName, e);
+                        return new FileUploadException(fileName, "Erro no serviço de armazenamento", e);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<FileStreamDto> openDownload(String key, DownloadConditions conditions) {
+        String range = conditions.range();
+        String ifRange = conditions.ifRange();
+        String ifNoneMatch = conditions.ifNoneMatch();
+        Instant ifModifiedSince = conditions.ifModifiedSince();
+        logger.debug("Iniciando download reativo do arquivo com key: {} (range: {})", key, range);
+
+        // If-Range como pré-condição do GET parcial: se o arquivo mudou, o S3 responde 412 sem corpo
+        String ifMatch = null;
+        Instant ifUnmodifiedSince = null;
+        if (range != null && ifRange != null) {
+            if (ifRange.startsWith("\"")) {
+                ifMatch = ifRange;
+            } else {
+                ifUnmodifiedSince = S3FileInfoMapper.parseHttpDate(ifRange);
+            }
+        }
+        boolean ifRangeSent = ifMatch != null || ifUnmodifiedSince != null;
+        // ETag fraco ou data inválida nunca correspondem: o intervalo é ignorado
+        String s3Range = ifRange != null && !ifRangeSent ? null : range;
+
+        var getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range(s3Range)
+                .ifMatch(ifMatch)
+                .ifUnmodifiedSince(ifUnmodifiedSince)
+                .ifNoneMatch(ifNoneMatch)
+                .ifModifiedSince(ifModifiedSince)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toPublisher()))
+                .map(responsePublisher -> toStream(key, responsePublisher))
+                .onErrorResume(S3Exception.class, e -> {
+                    if (e instanceof NoSuchKeyException) {
+                        logger.warn("Arquivo não encontrado para download: {}", key);
+                        return Mono.error(new FileNotFoundException("Arquivo não encontrado", key));
+                    }
+                    if (e.statusCode() == 304) {
+                        logger.debug("Arquivo não modificado, download dispensado: {}", key);
+                        return Mono.just(FileStreamDto.notModified(
+                                fileInfoMapper.toNotModifiedFileInfo(key, ifNoneMatch, e)));
+                    }
+                    if (e.statusCode() == 412 && ifRangeSent) {
+                        logger.debug("If-Range não corresponde ao arquivo atual, enviando arquivo completo: {}", key);
+                        return openDownload(key, conditions.withoutRange());
+                    }
+                    if (e.statusCode() == 416) {
+                        logger.warn("Intervalo inválido para download: {} ({})", key, s3Range);
+                        // O erro do S3 já informa o tamanho do objeto; o HEAD fica como alternativa
+                        Long objectSize = S3FileInfoMapper.invalidRangeObjectSize(e);
+                        if (objectSize != null) {
+                            return Mono.error(new InvalidRangeException(key, s3Range, objectSize));
+                        }
+                        return getFileInfo(key).flatMap(fileInfo ->
+                                Mono.error(new InvalidRangeException(key, s3Range, fileInfo.size())));
+                    }
+                    logger.error("Erro do S3 durante download: {}", key, e);
+                    return Mono.error(new RuntimeException("Erro ao baixar arquivo do S3", e));
+                });
+    }
+
+    @Override
+    public Mono<FileInfoDto> getFileInfo(String key) {
+        FileInfoDto cached = metadataCache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        var headRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.headObject(headRequest))
+                .map(response -> {
+                    FileInfoDto fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(),
+                            response.contentLength(), response.contentType(), response.eTag(),
+                            response.lastModified());
+                    metadataCache.put(fileInfo);
+                    return fileInfo;
+                })
+                .onErrorMap(NoSuchKeyException.class, e -> {
+                    logger.warn("Arquivo não encontrado para obter informações: {}", key);
+                    return new FileNotFoundException("Arquivo não encontrado", key);
+                });
+    }
+
+    private FileStreamDto toStream(String key, ResponsePublisher<GetObjectResponse> responsePublisher) {
+        var response = responsePublisher.response();
+
+        // Cada ByteBuffer entregue pelo SDK vira um DataBuffer sem cópia; o SDK só lê mais do S3
+        // quando o servidor HTTP pede o próximo bloco para escrever ao cliente
+        Flux<DataBuffer> content = Flux.from(responsePublisher)
+                .map(DefaultDataBufferFactory.sharedInstance::wrap);
+
+        if (response.contentRange() == null) {
+            var fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(), response.contentLength(),
+                    response.contentType(), response.eTag(), response.lastModified());
+            metadataCache.put(fileInfo);
+
+            logger.info("Download reativo iniciado - Key: {}, Tamanho: {} bytes", key, response.contentLength());
+            return FileStreamDto.full(fileInfo, content);
+        }
+
+        var fileInfo = fileInfoMapper.toFileInfoDto(key, response.metadata(),
+                FileServiceImpl.parseTotalSize(response.contentRange()),
+                response.contentType(), response.eTag(), response.lastModified());
+
+        logger.info("Download reativo parcial iniciado - Key: {}, Intervalo: {}", key, response.contentRange());
+        return FileStreamDto.partial(fileInfo, content, response.contentLength(), response.contentRange());
+    }
+
+    /**
+     * Copia o bloco recebido e devolve o buffer original ao pool do servidor HTTP
+     */
+    private static ByteBuffer toByteBuffer(DataBuffer dataBuffer) {
+        try {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return ByteBuffer.wrap(bytes);
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+
+    /**
+     * Corpo com tamanho conhecido: o SDK envia o Content-Length declarado sem precisar bufferizar o conteúdo
+     */
+    private static AsyncRequestBody knownLength(Publisher<ByteBuffer> publisher, long contentLength) {
+        return new AsyncRequestBody() {
+            @Override
+            public Optional<Long> contentLength() {
+                return Optional.of(contentLength);
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+                publisher.subscribe(subscriber);
+            }
+        };
+    }
+}
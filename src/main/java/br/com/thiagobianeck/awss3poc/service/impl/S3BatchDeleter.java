@@ -0,0 +1,205 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exclusão em lote no S3 (DeleteObjects) para listas de qualquer tamanho
+ * As chaves são divididas em blocos de até 1000 (limite do S3), enviados em paralelo,
+ * com nova tentativa apenas das chaves que falharam por erro transitório
+ *
+ * @author Bianeck
+ */
+@Component
+public class S3BatchDeleter {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3BatchDeleter.class);
+
+    /**
+     * Quantidade máxima de chaves aceita pelo S3 em um DeleteObjects
+     */
+    public static final int MAX_KEYS_PER_REQUEST = 1000;
+
+    private final S3Client s3Client;
+    private final ExecutorService s3TaskExecutor;
+    private final String bucketName;
+    private final int maxConcurrency;
+    private final int maxAttempts;
+
+    public S3BatchDeleter(S3Client s3Client,
+                          @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                          @Value("${aws.s3.bucket-name}") String bucketName,
+                          @Value("${aws.s3.batch-delete.max-concurrency:8}") int maxConcurrency,
+                          @Value("${aws.s3.batch-delete.max-attempts:3}") int maxAttempts) {
+        this.s3Client = s3Client;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Quantidade máxima de blocos excluídos em paralelo
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Exclui todas as chaves, em blocos paralelos limitados por {@code maxConcurrency}
+     * Um erro inesperado em um bloco não descarta os demais: as chaves do bloco entram nas falhas
+     *
+     * @param keys Chaves a excluir (sem repetições)
+     * @return Chaves excluídas e falhas com o código de erro do S3
+     */
+    public BatchDeleteResultDto deleteAll(List<String> keys) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<List<String>> chunks = new ArrayList<>();
+        List<Future<BatchDeleteResultDto>> pendingChunks = new ArrayList<>();
+
+        for (int start = 0; start < keys.size(); start += MAX_KEYS_PER_REQUEST) {
+            chunks.add(keys.subList(start, Math.min(start + MAX_KEYS_PER_REQUEST, keys.size())));
+        }
+
+        List<String> deleted = new ArrayList<>(keys.size());
+        List<BatchDeleteResultDto.Failure> failed = new ArrayList<>();
+
+        // A vaga é obtida antes de submeter: os blocos excedentes não ocupam threads do executor
+        try {
+            for (List<String> chunk : chunks) {
+                permits.acquire();
+                pendingChunks.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        return deleteChunk(chunk);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingChunks.forEach(pendingChunk -> pendingChunk.cancel(true));
+            for (List<String> chunk : chunks) {
+                addFailures(failed, chunk, "Interrupted", "Exclusão em lote interrompida");
+            }
+            return BatchDeleteResultDto.of(keys.size(), deleted, failed);
+        }
+
+        for (int i = 0; i < pendingChunks.size(); i++) {
+            List<String> chunk = chunks.get(i);
+            try {
+                BatchDeleteResultDto chunkResult = pendingChunks.get(i).get();
+                deleted.addAll(chunkResult.deleted());
+                failed.addAll(chunkResult.failed());
+
+            } catch (ExecutionException e) {
+                // deleteChunk converte falhas do S3 em resultado; aqui só chegam erros inesperados
+                Throwable cause = e.getCause();
+                logger.error("Erro inesperado na exclusão de {} chaves", chunk.size(), cause);
+                addFailures(failed, chunk, cause.getClass().getSimpleName(), cause.getMessage());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendingChunks.forEach(pendingChunk -> pendingChunk.cancel(true));
+                // Os blocos ainda não concluídos entram nas falhas, preservando o resultado dos concluídos
+                for (int j = i; j < chunks.size(); j++) {
+                    addFailures(failed, chunks.get(j), "Interrupted", "Exclusão em lote interrompida");
+                }
+                break;
+            }
+        }
+
+        return BatchDeleteResultDto.of(keys.size(), deleted, failed);
+    }
+
+    /**
+     * Exclui um bloco de até {@link #MAX_KEYS_PER_REQUEST} chaves com um único DeleteObjects,
+     * repetindo apenas as chaves com erro transitório
+     *
+     * @param chunk Chaves a excluir
+     * @return Chaves excluídas e falhas do bloco
+     */
+    public BatchDeleteResultDto deleteChunk(List<String> chunk) throws InterruptedException {
+        List<String> deleted = new ArrayList<>(chunk.size());
+        List<BatchDeleteResultDto.Failure> failed = new ArrayList<>();
+        List<String> pending = chunk;
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            boolean lastAttempt = attempt >= maxAttempts;
+            List<String> retry = new ArrayList<>();
+
+            try {
+                var deleteRequest = DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder()
+                                .objects(pending.stream()
+                                        .map(key -> ObjectIdentifier.builder().key(key).build())
+                                        .toList())
+                                // Modo silencioso: o S3 só devolve as chaves com erro
+                                .quiet(true)
+                                .build())
+                        .build();
+
+                var response = s3Client.deleteObjects(deleteRequest);
+
+                Set<String> errorKeys = new HashSet<>();
+                for (S3Error error : response.errors()) {
+                    errorKeys.add(error.key());
+                    if (!lastAttempt && S3Retry.isTransientErrorCode(error.code())) {
+                        retry.add(error.key());
+                    } else {
+                        logger.warn("Erro ao excluir arquivo {}: {} ({})", error.key(), error.message(), error.code());
+                        failed.add(new BatchDeleteResultDto.Failure(error.key(), error.code(), error.message()));
+                    }
+                }
+
+                if (errorKeys.isEmpty()) {
+                    deleted.addAll(pending);
+                } else {
+                    pending.stream().filter(key -> !errorKeys.contains(key)).forEach(deleted::add);
+                }
+
+            } catch (SdkException e) {
+                if (!lastAttempt && S3Retry.isTransient(e)) {
+                    logger.warn("Falha transitória na exclusão de {} chaves (tentativa {}/{}): {}",
+                            pending.size(), attempt, maxAttempts, e.getMessage());
+                    retry.addAll(pending);
+                } else {
+                    logger.error("Erro na exclusão de {} chaves", pending.size(), e);
+                    String code = e instanceof S3Exception s3Exception && s3Exception.awsErrorDetails() != null
+                            ? s3Exception.awsErrorDetails().errorCode()
+                            : e.getClass().getSimpleName();
+                    pending.forEach(key -> failed.add(new BatchDeleteResultDto.Failure(key, code, e.getMessage())));
+                }
+            }
+
+            pending = retry;
+            if (!pending.isEmpty()) {
+                S3Retry.backoff(attempt);
+            }
+        }
+
+        return BatchDeleteResultDto.of(chunk.size(), deleted, failed);
+    }
+
+    private static void addFailures(List<BatchDeleteResultDto.Failure> failed, List<String> keys,
+                                    String code, String message) {
+        keys.forEach(key -> failed.add(new BatchDeleteResultDto.Failure(key, code, message)));
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conversão das respostas do S3 (HEAD, GET, listagem, 304) em {@link FileInfoDto}
+ * Compartilhada pelas implementações bloqueante, assíncrona e reativa do serviço de arquivos
+ *
+ * @author Bianeck
+ */
+final class S3FileInfoMapper {
+
+    private static final Pattern ACTUAL_OBJECT_SIZE = Pattern.compile("<ActualObjectSize>(\\d+)</ActualObjectSize>");
+
+    private final String bucketName;
+    private final String s3Endpoint;
+
+    S3FileInfoMapper(String bucketName, String s3Endpoint) {
+        this.bucketName = bucketName;
+        this.s3Endpoint = s3Endpoint;
+    }
+
+    FileInfoDto toFileInfoDto(String key, Map<String, String> metadata, Long contentLength,
+                              String contentType, String eTag, Instant lastModified) {
+        // Ponteiros do modo de deduplicação: tamanho e ETag são os do blob com o conteúdo
+        if (metadata.containsKey(ContentAddressedStore.BLOB_SIZE_METADATA)) {
+            contentLength = Long.valueOf(metadata.get(ContentAddressedStore.BLOB_SIZE_METADATA));
+            eTag = metadata.get(ContentAddressedStore.BLOB_ETAG_METADATA);
+        }
+
+        return FileInfoDto.of(
+                metadata.getOrDefault("original-filename", FileServiceImpl.extractFileNameFromKey(key)),
+                key,
+                contentLength,
+                contentType,
+                eTag,
+                lastModified,
+                buildFileUrl(key)
+        );
+    }
+
+    /**
+     * Monta as informações do arquivo a partir dos headers de uma resposta 304 do S3
+     * Se o ETag não vier na resposta, é o mesmo enviado no If-None-Match, já que houve correspondência
+     */
+    FileInfoDto toNotModifiedFileInfo(String key, String ifNoneMatch, S3Exception e) {
+        var httpResponse = e.awsErrorDetails().sdkHttpResponse();
+        String eTag = httpResponse.firstMatchingHeader("ETag").orElse(ifNoneMatch);
+        Instant lastModified = httpResponse.firstMatchingHeader("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .orElse(null);
+
+        return toNotModifiedFileInfo(key, eTag, lastModified);
+    }
+
+    /**
+     * Monta as informações de um arquivo não modificado a partir dos validadores já conhecidos
+     */
+    FileInfoDto toNotModifiedFileInfo(String key, String eTag, Instant lastModified) {
+        return toFileInfoDto(key, Map.of(), null, null, eTag, lastModified);
+    }
+
+    /**
+     * Tamanho do objeto informado no corpo do erro InvalidRange (416) do S3, dispensando um HEAD
+     *
+     * @return Tamanho do objeto ou null se o erro não o informar
+     */
+    static Long invalidRangeObjectSize(S3Exception e) {
+        var rawResponse = e.awsErrorDetails() != null ? e.awsErrorDetails().rawResponse() : null;
+        if (rawResponse == null) {
+            return null;
+        }
+        Matcher matcher = ACTUAL_OBJECT_SIZE.matcher(rawResponse.asUtf8String());
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * Converte uma data HTTP (RFC 1123), como a do If-Range, ou null se ela for inválida
+     */
+    static Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    FileInfoDto toFileInfoDto(S3Object s3Object) {
+        return toFileInfoDto(s3Object, null);
+    }
+
+    /**
+     * Converte um objeto listado; ponteiros do modo de deduplicação são vazios,
+     * e nome, tamanho e ETag vêm dos metadados do ponteiro, como no HEAD
+     *
+     * @param pointer Ponteiro resolvido para o objeto, ou null se ele não for um ponteiro
+     */
+    FileInfoDto toFileInfoDto(S3Object s3Object, ContentAddressedStore.BlobPointer pointer) {
+        if (pointer != null) {
+            return toFileInfoDto(s3Object.key(), pointer.metadata(), s3Object.size(),
+                    pointer.contentType(), s3Object.eTag(), s3Object.lastModified());
+        }
+
+        String fileName = FileServiceImpl.extractFileNameFromKey(s3Object.key());
+        return FileInfoDto.of(
+                fileName,
+                s3Object.key(),
+                s3Object.size(),
+                FileUtils.getContentType(fileName),
+                s3Object.eTag(),
+                s3Object.lastModified(),
+                buildFileUrl(s3Object.key())
+        );
+    }
+
+    String buildFileUrl(String key) {
+        return String.format("%s/%s/%s", s3Endpoint, bucketName, key);
+    }
+}
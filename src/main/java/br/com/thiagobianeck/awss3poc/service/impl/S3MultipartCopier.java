@@ -0,0 +1,225 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cópia multipart no próprio S3 (CreateMultipartUpload / UploadPartCopy / CompleteMultipartUpload)
+ * com cópia paralela das partes, sem trafegar o conteúdo pela aplicação
+ * Necessária acima de 5GB, limite do CopyObject, e mais rápida para objetos grandes
+ *
+ * @author Bianeck
+ */
+@Component
+public class S3MultipartCopier {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3MultipartCopier.class);
+
+    /**
+     * Tamanho mínimo de parte aceito pelo S3 (exceto a última)
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * Tamanho máximo de objeto aceito pelo CopyObject
+     */
+    private static final long MAX_SINGLE_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * Quantidade máxima de partes de um upload multipart
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    private final S3Client s3Client;
+    private final ExecutorService s3TaskExecutor;
+    private final String bucketName;
+    private final long threshold;
+    private final long partSize;
+    private final int maxConcurrency;
+    private final int maxPartAttempts;
+
+    public S3MultipartCopier(S3Client s3Client,
+                             @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                             @Value("${aws.s3.bucket-name}") String bucketName,
+                             @Value("${aws.s3.copy.multipart-threshold:512MB}") DataSize threshold,
+                             @Value("${aws.s3.copy.part-size:128MB}") DataSize partSize,
+                             @Value("${aws.s3.copy.part-concurrency:8}") int maxConcurrency,
+                             @Value("${aws.s3.copy.max-part-attempts:3}") int maxPartAttempts) {
+        if (partSize.toBytes() < MIN_PART_SIZE || partSize.toBytes() > MAX_SINGLE_COPY_SIZE) {
+            throw new IllegalArgumentException("aws.s3.copy.part-size deve estar entre 5MB e 5GB");
+        }
+
+        this.s3Client = s3Client;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+        this.threshold = Math.min(threshold.toBytes(), MAX_SINGLE_COPY_SIZE);
+        this.partSize = partSize.toBytes();
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPartAttempts = Math.max(1, maxPartAttempts);
+
+        logger.info("Cópia multipart configurada - threshold: {} bytes, parte: {} bytes, concorrência: {}",
+                this.threshold, this.partSize, this.maxConcurrency);
+    }
+
+    /**
+     * Indica se um objeto do tamanho informado deve ser copiado via multipart
+     * Objetos acima de 5GB sempre usam multipart, independente da configuração
+     *
+     * @param contentLength Tamanho do objeto em bytes
+     * @return true se o tamanho atinge o threshold configurado
+     */
+    public boolean shouldUseMultipart(long contentLength) {
+        return contentLength > 0 && contentLength >= threshold;
+    }
+
+    /**
+     * Copia o objeto em partes paralelas
+     * O UploadPartCopy não preserva content-type nem metadados, então eles são lidos
+     * com um HEAD da origem; todas as partes exigem o mesmo ETag desse HEAD, garantindo
+     * que o destino não misture versões se a origem for sobrescrita durante a cópia
+     *
+     * @param sourceKey Chave do objeto origem
+     * @param destinationKey Chave do objeto destino
+     * @return ETag do objeto final
+     * @throws InterruptedException se a cópia for interrompida
+     */
+    public String copy(String sourceKey, String destinationKey) throws InterruptedException {
+        var source = s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(sourceKey)
+                .build());
+
+        long size = source.contentLength();
+        // Objetos muito grandes precisam de partes maiores para caber no limite de partes
+        long effectivePartSize = Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+
+        var createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(destinationKey)
+                .contentType(source.contentType())
+                .metadata(source.metadata())
+                .build();
+
+        String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+        logger.debug("Cópia multipart iniciada - {} -> {}, UploadId: {}", sourceKey, destinationKey, uploadId);
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<CompletedPart>> pendingParts = new ArrayList<>();
+
+        try {
+            int partNumber = 1;
+            for (long start = 0; start < size; start += effectivePartSize, partNumber++) {
+                var uploadPartCopyRequest = UploadPartCopyRequest.builder()
+                        .sourceBucket(bucketName)
+                        .sourceKey(sourceKey)
+                        .destinationBucket(bucketName)
+                        .destinationKey(destinationKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .copySourceRange("bytes=" + start + "-" + (Math.min(start + effectivePartSize, size) - 1))
+                        .copySourceIfMatch(source.eTag())
+                        .build();
+
+                // A vaga é obtida antes de submeter: as partes excedentes não ocupam threads do executor
+                permits.acquire();
+                pendingParts.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        return copyPartWithRetry(uploadPartCopyRequest);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(pendingParts.size());
+            for (Future<CompletedPart> pendingPart : pendingParts) {
+                completedParts.add(pendingPart.get());
+            }
+
+            var completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(destinationKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+
+            var response = s3Client.completeMultipartUpload(completeRequest);
+
+            logger.info("Cópia multipart concluída - {} -> {}, Partes: {}, ETag: {}",
+                    sourceKey, destinationKey, completedParts.size(), response.eTag());
+            return response.eTag();
+
+        } catch (InterruptedException e) {
+            abort(destinationKey, uploadId, pendingParts);
+            throw e;
+        } catch (ExecutionException e) {
+            abort(destinationKey, uploadId, pendingParts);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha na cópia de parte do objeto", e.getCause());
+        } catch (RuntimeException e) {
+            abort(destinationKey, uploadId, pendingParts);
+            throw e;
+        }
+    }
+
+    /**
+     * Copia uma parte, repetindo somente ela em caso de falha transitória
+     */
+    private CompletedPart copyPartWithRetry(UploadPartCopyRequest request) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var response = s3Client.uploadPartCopy(request);
+
+                logger.debug("Parte {} copiada - Key: {}, Intervalo: {}",
+                        request.partNumber(), request.destinationKey(), request.copySourceRange());
+
+                return CompletedPart.builder()
+                        .partNumber(request.partNumber())
+                        .eTag(response.copyPartResult().eTag())
+                        .build();
+
+            } catch (SdkException e) {
+                if (attempt >= maxPartAttempts || !S3Retry.isTransient(e)) {
+                    throw e;
+                }
+                logger.warn("Falha transitória na cópia da parte {} de {} (tentativa {}/{}): {}",
+                        request.partNumber(), request.destinationKey(), attempt, maxPartAttempts, e.getMessage());
+                S3Retry.backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Cancela as partes pendentes e aborta o upload para não deixar partes órfãs cobradas no bucket
+     */
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> pendingParts) {
+        pendingParts.forEach(part -> part.cancel(true));
+
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            logger.warn("Cópia multipart abortada - Key: {}, UploadId: {}", key, uploadId);
+        } catch (SdkException e) {
+            logger.error("Erro ao abortar cópia multipart - Key: {}, UploadId: {}", key, uploadId, e);
+        }
+    }
+}
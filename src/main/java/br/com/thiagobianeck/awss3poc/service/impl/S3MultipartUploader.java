@@ -0,0 +1,251 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upload multipart do S3 (CreateMultipartUpload / UploadPart / CompleteMultipartUpload)
+ * com envio paralelo das partes, nova tentativa apenas das partes que falharam
+ * e abort automático em caso de erro
+ *
+ * @author Bianeck
+ */
+@Component
+public class S3MultipartUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3MultipartUploader.class);
+
+    /**
+     * Tamanho mínimo de parte aceito pelo S3 (exceto a última)
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final ExecutorService s3TaskExecutor;
+    private final String bucketName;
+    private final long threshold;
+    private final int partSize;
+    private final int maxConcurrency;
+    private final int maxPartAttempts;
+
+    public S3MultipartUploader(S3Client s3Client,
+                               @Qualifier("s3TaskExecutor") ExecutorService s3TaskExecutor,
+                               @Value("${aws.s3.bucket-name}") String bucketName,
+                               @Value("${aws.s3.multipart.threshold:16MB}") DataSize threshold,
+                               @Value("${aws.s3.multipart.part-size:8MB}") DataSize partSize,
+                               @Value("${aws.s3.multipart.max-concurrency:4}") int maxConcurrency,
+                               @Value("${aws.s3.multipart.max-part-attempts:3}") int maxPartAttempts) {
+        if (partSize.toBytes() < MIN_PART_SIZE || partSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("aws.s3.multipart.part-size deve estar entre 5MB e 2GB");
+        }
+
+        this.s3Client = s3Client;
+        this.s3TaskExecutor = s3TaskExecutor;
+        this.bucketName = bucketName;
+        this.threshold = threshold.toBytes();
+        this.partSize = (int) partSize.toBytes();
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPartAttempts = Math.max(1, maxPartAttempts);
+
+        logger.info("Upload multipart configurado - threshold: {} bytes, parte: {} bytes, concorrência: {}",
+                this.threshold, this.partSize, this.maxConcurrency);
+    }
+
+    /**
+     * Tamanho a partir do qual o conteúdo é enviado via multipart, em bytes
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Tamanho de cada parte enviada, em bytes
+     */
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Indica se um conteúdo do tamanho informado deve ser enviado via multipart
+     *
+     * @param contentLength Tamanho do conteúdo em bytes
+     * @return true se o tamanho atinge o threshold configurado
+     */
+    public boolean shouldUseMultipart(long contentLength) {
+        return contentLength >= threshold;
+    }
+
+    /**
+     * Envia o conteúdo para o S3 em partes paralelas
+     * No máximo {@code maxConcurrency} partes ficam em memória ao mesmo tempo
+     *
+     * @param key Chave do objeto no S3
+     * @param inputStream Conteúdo a ser enviado (lido sequencialmente)
+     * @param contentType Tipo de conteúdo do objeto
+     * @param metadata Metadados do objeto
+     * @return ETag do objeto final
+     * @throws IOException se houver erro de leitura do conteúdo
+     */
+    public String upload(String key, InputStream inputStream, String contentType,
+                         Map<String, String> metadata) throws IOException {
+
+        var createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .metadata(metadata)
+                .build();
+
+        String uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+        logger.debug("Upload multipart iniciado - Key: {}, UploadId: {}", key, uploadId);
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicBoolean partFailed = new AtomicBoolean(false);
+        List<Future<CompletedPart>> pendingParts = new ArrayList<>();
+
+        try {
+            int partNumber = 1;
+            while (true) {
+                // Aguarda uma vaga antes de ler a próxima parte, limitando o uso de memória
+                permits.acquire();
+                if (partFailed.get()) {
+                    // Uma parte já falhou em definitivo: não adianta continuar lendo o conteúdo
+                    permits.release();
+                    break;
+                }
+
+                byte[] partData = inputStream.readNBytes(partSize);
+                if (partData.length == 0 && partNumber > 1) {
+                    permits.release();
+                    break;
+                }
+
+                final int currentPart = partNumber;
+                pendingParts.add(s3TaskExecutor.submit(() -> {
+                    try {
+                        return uploadPartWithRetry(key, uploadId, currentPart, partData);
+                    } catch (Exception e) {
+                        partFailed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+
+                if (partData.length < partSize) {
+                    break;
+                }
+                partNumber++;
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(pendingParts.size());
+            for (Future<CompletedPart> pendingPart : pendingParts) {
+                completedParts.add(pendingPart.get());
+            }
+
+            var completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+
+            var response = s3Client.completeMultipartUpload(completeRequest);
+
+            logger.info("Upload multipart concluído - Key: {}, Partes: {}, ETag: {}",
+                    key, completedParts.size(), response.eTag());
+            return response.eTag();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId, pendingParts);
+            throw new IOException("Upload multipart interrompido", e);
+        } catch (ExecutionException e) {
+            abort(key, uploadId, pendingParts);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Falha no envio de parte do upload multipart", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, pendingParts);
+            throw e;
+        }
+    }
+
+    /**
+     * Envia uma parte, repetindo somente ela em caso de falha transitória
+     */
+    private CompletedPart uploadPartWithRetry(String key, String uploadId,
+                                              int partNumber, byte[] partData) throws InterruptedException {
+        var uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) partData.length)
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var response = s3Client.uploadPart(uploadPartRequest,
+                        RequestBody.fromContentProvider(
+                                ContentStreamProvider.fromByteArrayUnsafe(partData),
+                                partData.length,
+                                "application/octet-stream"));
+
+                logger.debug("Parte {} enviada - Key: {}, Tamanho: {} bytes", partNumber, key, partData.length);
+
+                return CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(response.eTag())
+                        .build();
+
+            } catch (SdkException e) {
+                if (attempt >= maxPartAttempts || !S3Retry.isTransient(e)) {
+                    throw e;
+                }
+                logger.warn("Falha transitória na parte {} de {} (tentativa {}/{}): {}",
+                        partNumber, key, attempt, maxPartAttempts, e.getMessage());
+                S3Retry.backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Cancela as partes pendentes e aborta o upload para não deixar partes órfãs cobradas no bucket
+     */
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> pendingParts) {
+        pendingParts.forEach(part -> part.cancel(true));
+
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            logger.warn("Upload multipart abortado - Key: {}, UploadId: {}", key, uploadId);
+        } catch (SdkException e) {
+            logger.error("Erro ao abortar upload multipart - Key: {}, UploadId: {}", key, uploadId, e);
+        }
+    }
+}
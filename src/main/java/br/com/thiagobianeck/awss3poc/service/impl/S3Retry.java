@@ -0,0 +1,51 @@
+package br.com.thiagobianeck.awss3poc.service.impl;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.Set;
+
+/**
+ * Regras de nova tentativa para chamadas ao S3 feitas em lote
+ *
+ * @author Bianeck
+ */
+final class S3Retry {
+
+    /**
+     * Códigos de erro transitórios reportados por chave (ex.: no resultado do DeleteObjects)
+     */
+    private static final Set<String> TRANSIENT_ERROR_CODES = Set.of(
+            "InternalError", "ServiceUnavailable", "SlowDown", "RequestTimeout", "OperationAborted"
+    );
+
+    private S3Retry() {
+        // Classe utilitária - construtor privado
+    }
+
+    /**
+     * Indica se a falha da chamada é transitória (5xx, throttling, timeout ou erro de rede)
+     */
+    static boolean isTransient(SdkException e) {
+        if (e instanceof S3Exception s3Exception) {
+            int status = s3Exception.statusCode();
+            return status >= 500 || status == 429 || status == 408;
+        }
+        return e instanceof SdkClientException;
+    }
+
+    /**
+     * Indica se o código de erro de uma chave é transitório
+     */
+    static boolean isTransientErrorCode(String errorCode) {
+        return errorCode != null && TRANSIENT_ERROR_CODES.contains(errorCode);
+    }
+
+    /**
+     * Espera exponencial antes da próxima tentativa (100ms, 200ms, 400ms...)
+     */
+    static void backoff(int attempt) throws InterruptedException {
+        Thread.sleep(100L * (1L << Math.min(attempt - 1, 6)));
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.thiagobianeck.awss3poc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para uso concorrente sem locks
+ * Responde "definitivamente ausente" ou "talvez presente"; não suporta remoção
+ *
+ * @author Bianeck
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de elementos e a taxa de falsos positivos
+     *
+     * @param expectedInsertions Quantidade esperada de elementos
+     * @param falsePositiveRate Taxa de falsos positivos desejada (entre 0 e 1)
+     * @return Filtro vazio
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1");
+        }
+
+        long n = Math.max(1, expectedInsertions);
+        // m = -n ln(p) / (ln 2)^2 e k = (m / n) ln 2
+        long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    /**
+     * Adiciona um elemento ao filtro
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            long mask = 1L << bitIndex;
+            bits.getAndAccumulate((int) (bitIndex >>> 6), mask, (current, bit) -> current | bit);
+        }
+    }
+
+    /**
+     * Indica se o elemento pode estar no filtro
+     *
+     * @return false se o elemento certamente nunca foi adicionado
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tamanho do filtro em bits
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os bytes UTF-8
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizador do SplitMix64, usado como segunda função de hash (hashing duplo)
+     */
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
@@ -4,6 +4,7 @@ import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -19,6 +20,12 @@ public final class FileUtils {
     private static final Pattern VALID_FILENAME_PATTERN =
             Pattern.compile("^[a-zA-Z0-9._-]+\\.[a-zA-Z0-9]+$");
 
+    /**
+     * Formato das chaves geradas por {@link #generateFileKey(String)}: files/ano/mes/nome-uuid.extensao
+     */
+    private static final Pattern GENERATED_KEY_PATTERN =
+            Pattern.compile("^files/\\d{4}/\\d{2}/[a-zA-Z0-9._-]+-[0-9a-f]{8}\\.[a-zA-Z0-9]+$");
+
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of(
             "jpg", "jpeg", "png", "gif", "bmp", "webp",  // Imagens
             "pdf", "doc", "docx", "txt", "rtf",          // Documentos
@@ -30,6 +37,12 @@ public final class FileUtils {
 
     private static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
 
+    /**
+     * Limites do upload de vários arquivos em uma única requisição
+     */
+    public static final int MAX_FILES_PER_UPLOAD = 10;
+    public static final long MAX_TOTAL_UPLOAD_SIZE = 100 * 1024 * 1024; // 100MB
+
     private FileUtils() {
         // Classe utilitária - construtor privado
     }
@@ -42,31 +55,59 @@ public final class FileUtils {
             throw new FileUploadException("N/A", "Arquivo não pode estar vazio");
         }
 
-        String originalFilename = file.getOriginalFilename();
-        if (StringUtils.isBlank(originalFilename)) {
+        validateFile(file.getOriginalFilename(), file.getSize());
+    }
+
+    /**
+     * Valida um arquivo recebido em streaming a partir do nome e do tamanho declarado,
+     * antes de qualquer byte do conteúdo ser lido
+     */
+    public static void validateFile(String filename, long size) {
+        if (size <= 0) {
+            throw new FileUploadException(StringUtils.defaultIfBlank(filename, "N/A"), "Arquivo não pode estar vazio");
+        }
+
+        validateFileName(filename);
+
+        // Valida tamanho
+        if (size > MAX_FILE_SIZE) {
+            throw new FileUploadException(filename,
+                    String.format("Arquivo muito grande (%.2f MB). Tamanho máximo: 50 MB",
+                            size / (1024.0 * 1024.0)));
+        }
+    }
+
+    /**
+     * Valida nome e extensão de um arquivo, sem considerar o tamanho
+     * Usado nos envios diretos ao S3, em que o conteúdo não passa pela aplicação
+     */
+    public static void validateFileName(String filename) {
+        if (StringUtils.isBlank(filename)) {
             throw new FileUploadException("N/A", "Nome do arquivo não pode estar vazio");
         }
 
         // Valida nome do arquivo
-        if (!VALID_FILENAME_PATTERN.matcher(originalFilename).matches()) {
-            throw new FileUploadException(originalFilename,
+        if (!VALID_FILENAME_PATTERN.matcher(filename).matches()) {
+            throw new FileUploadException(filename,
                     "Nome do arquivo contém caracteres inválidos");
         }
 
         // Valida extensão
-        String extension = getFileExtension(originalFilename).toLowerCase();
+        String extension = getFileExtension(filename).toLowerCase();
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
-            throw new FileUploadException(originalFilename,
+            throw new FileUploadException(filename,
                     String.format("Extensão '%s' não é permitida. Extensões permitidas: %s",
                             extension, String.join(", ", ALLOWED_EXTENSIONS)));
         }
+    }
 
-        // Valida tamanho
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new FileUploadException(originalFilename,
-                    String.format("Arquivo muito grande (%.2f MB). Tamanho máximo: 50 MB",
-                            file.getSize() / (1024.0 * 1024.0)));
-        }
+    /**
+     * Limita a leitura de um arquivo recebido em streaming, de tamanho desconhecido, ao tamanho máximo
+     * A leitura falha assim que o limite é ultrapassado, sem esperar o fim do conteúdo
+     */
+    public static SizeLimitedInputStream limitToMaxSize(String filename, InputStream content) {
+        return new SizeLimitedInputStream(content, MAX_FILE_SIZE,
+                () -> new FileUploadException(filename, "Arquivo muito grande. Tamanho máximo: 50 MB"));
     }
 
     /**
@@ -77,12 +118,12 @@ public final class FileUtils {
             throw new IllegalArgumentException("Lista de arquivos não pode estar vazia");
         }
 
-        if (files.size() > 10) {
-            throw new IllegalArgumentException("Máximo de 10 arquivos por upload");
+        if (files.size() > MAX_FILES_PER_UPLOAD) {
+            throw new IllegalArgumentException("Máximo de " + MAX_FILES_PER_UPLOAD + " arquivos por upload");
         }
 
         long totalSize = files.stream().mapToLong(MultipartFile::getSize).sum();
-        if (totalSize > 100 * 1024 * 1024) { // 100MB total
+        if (totalSize > MAX_TOTAL_UPLOAD_SIZE) {
             throw new IllegalArgumentException("Tamanho total dos arquivos excede 100MB");
         }
 
@@ -110,6 +151,15 @@ public final class FileUtils {
                 yearMonth, nameWithoutExtension, uuid, extension);
     }
 
+    /**
+     * Verifica se a chave foi gerada por {@link #generateFileKey(String)}
+     * O sufixo aleatório evita colisões, mas não garante conteúdo imutável: chaves entregues
+     * em URLs pré-assinadas podem ser regravadas pelo cliente enquanto a URL for válida
+     */
+    public static boolean isGeneratedFileKey(String key) {
+        return key != null && GENERATED_KEY_PATTERN.matcher(key).matches();
+    }
+
     /**
      * Extrai a extensão do arquivo
      */
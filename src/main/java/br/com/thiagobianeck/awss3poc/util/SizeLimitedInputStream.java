@@ -0,0 +1,71 @@
+package br.com.thiagobianeck.awss3poc.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * InputStream que conta os bytes lidos e falha assim que o conteúdo ultrapassa o limite
+ * Usado nos uploads em streaming, em que o tamanho só é conhecido ao final da leitura
+ *
+ * @author Bianeck
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final Supplier<? extends RuntimeException> limitExceeded;
+
+    private long bytesRead;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes,
+                                  Supplier<? extends RuntimeException> limitExceeded) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.limitExceeded = limitExceeded;
+    }
+
+    /**
+     * Quantidade de bytes lidos até o momento
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long read) {
+        bytesRead += read;
+        if (bytesRead > maxBytes) {
+            throw limitExceeded.get();
+        }
+    }
+}
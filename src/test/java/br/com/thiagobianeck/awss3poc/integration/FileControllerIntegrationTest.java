@@ -20,9 +20,13 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -103,6 +107,119 @@ class FileControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalFiles").value(1));
     }
 
+    @Test
+    @DisplayName("POST /files/upload/stream - Deve fazer upload lendo o multipart em streaming")
+    void shouldUploadFilesFromMultipartStream() throws Exception {
+        // Corpo multipart montado manualmente: o endpoint lê o stream da requisição, não MultipartFile
+        String boundary = "stream-boundary";
+        String body = "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"description\"\r\n\r\n" +
+                "ignorado\r\n" +
+                "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"stream1.txt\"\r\n" +
+                "Content-Type: text/plain\r\n\r\n" +
+                "Conteúdo 1\r\n" +
+                "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"stream2.pdf\"\r\n" +
+                "Content-Type: application/pdf\r\n\r\n" +
+                "Conteúdo 2\r\n" +
+                "--" + boundary + "--\r\n";
+
+        mockMvc.perform(post("/api/files/upload/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.files", hasSize(2)))
+                .andExpect(jsonPath("$.files[0].fileName").value("stream1.txt"))
+                .andExpect(jsonPath("$.files[0].size").value("Conteúdo 1".getBytes(StandardCharsets.UTF_8).length))
+                .andExpect(jsonPath("$.files[1].fileName").value("stream2.pdf"));
+    }
+
+    @Test
+    @DisplayName("POST /files/upload/stream - Deve informar os arquivos já enviados quando um arquivo falha")
+    void shouldReportStoredFilesWhenStreamUploadFailsPartway() throws Exception {
+        // Given - o segundo arquivo tem extensão inválida e só é validado depois do primeiro ir ao S3
+        String boundary = "stream-boundary";
+        String body = "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"partial1.txt\"\r\n" +
+                "Content-Type: text/plain\r\n\r\n" +
+                "Conteúdo 1\r\n" +
+                "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"partial2.xyz\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n" +
+                "Conteúdo 2\r\n" +
+                "--" + boundary + "--\r\n";
+
+        // When / Then
+        mockMvc.perform(post("/api/files/upload/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.files", hasSize(1)))
+                .andExpect(jsonPath("$.files[0].fileName").value("partial1.txt"))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[1].fileName").value("partial2.xyz"))
+                .andExpect(jsonPath("$.results[1].success").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /files/upload/stream - Deve rejeitar mais arquivos que o limite por upload")
+    void shouldRejectStreamUploadAboveFileCountLimit() throws Exception {
+        // Given
+        String boundary = "stream-boundary";
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i <= 10; i++) {
+            body.append("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"file\"; filename=\"count")
+                    .append(i).append(".txt\"\r\n")
+                    .append("Content-Type: text/plain\r\n\r\n")
+                    .append("Conteúdo ").append(i).append("\r\n");
+        }
+        body.append("--").append(boundary).append("--\r\n");
+
+        // When / Then - o limite é verificado pelo parser antes de cada parte ser lida
+        mockMvc.perform(post("/api/files/upload/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toString().getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.files", hasSize(10)))
+                .andExpect(jsonPath("$.results", hasSize(11)))
+                .andExpect(jsonPath("$.results[10].success").value(false))
+                .andExpect(jsonPath("$.results[10].error").value(containsString("Máximo de 10 arquivos")));
+    }
+
+    @Test
+    @DisplayName("PUT /files/raw/{filename} - Deve fazer upload do corpo bruto")
+    void shouldUploadRawBody() throws Exception {
+        byte[] content = "Conteúdo enviado sem multipart".getBytes(StandardCharsets.UTF_8);
+
+        mockMvc.perform(put("/api/files/raw/raw-document.pdf")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(content))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.files[0].fileName").value("raw-document.pdf"))
+                .andExpect(jsonPath("$.files[0].contentType").value("application/pdf"))
+                .andExpect(jsonPath("$.files[0].size").value(content.length));
+    }
+
+    @Test
+    @DisplayName("PUT /files/raw/{filename} - Deve rejeitar extensão inválida antes de ler o corpo")
+    void shouldRejectRawBodyWithInvalidExtension() throws Exception {
+        mockMvc.perform(put("/api/files/raw/invalid.xyz")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("Conteúdo inválido".getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("não é permitida")));
+    }
+
     @Test
     @DisplayName("POST /files/upload-multiple - Deve fazer upload de múltiplos arquivos")
     void shouldUploadMultipleFiles() throws Exception {
@@ -177,6 +294,102 @@ class FileControllerIntegrationTest {
                 .andExpect(content().bytes(testFile.getBytes()));
     }
 
+    @Test
+    @DisplayName("GET /files/download/{key} - Deve responder 304 quando o ETag não mudou")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        // Primeiro faz upload
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/files/upload")
+                        .file(testFile))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String responseContent = uploadResult.getResponse().getContentAsString();
+        Map<String, Object> uploadResponse = objectMapper.readValue(responseContent, Map.class);
+        List<Map<String, Object>> files = (List<Map<String, Object>>) uploadResponse.get("files");
+        String fileKey = (String) files.get(0).get("key");
+
+        // Download inicial traz os validadores; a cópia do cliente é sempre revalidada pelo ETag
+        MvcResult downloadResult = mockMvc.perform(get("/api/files/download/{key}", fileKey))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn();
+
+        String eTag = downloadResult.getResponse().getHeader("ETag");
+
+        // Revalidação não transfere o corpo
+        mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("If-None-Match", eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/api/files/info/{key}", fileKey)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /files/download/{key} - Deve responder 206 para Range e avaliar o If-Range")
+    void shouldReturnPartialContentHonoringIfRange() throws Exception {
+        // Primeiro faz upload
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/files/upload")
+                        .file(testFile))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String responseContent = uploadResult.getResponse().getContentAsString();
+        Map<String, Object> uploadResponse = objectMapper.readValue(responseContent, Map.class);
+        List<Map<String, Object>> files = (List<Map<String, Object>>) uploadResponse.get("files");
+        String fileKey = (String) files.get(0).get("key");
+        byte[] content = testFile.getBytes();
+
+        // Intervalo simples: apenas os bytes pedidos, com Content-Range e validadores
+        MvcResult partialResult = mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("Range", "bytes=0-4"))
+                .andDo(print())
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-4/" + content.length))
+                .andExpect(header().string("Content-Length", "5"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 5)))
+                .andReturn();
+
+        String eTag = partialResult.getResponse().getHeader("ETag");
+
+        // If-Range com o ETag atual: o intervalo continua valendo
+        mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("Range", "bytes=5-9")
+                        .header("If-Range", eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-9/" + content.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 5, 10)));
+
+        // If-Range com ETag antigo ou fraco: o arquivo mudou para o cliente, envia o arquivo completo
+        mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("Range", "bytes=5-9")
+                        .header("If-Range", "\"etag-antigo\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Range"))
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().bytes(content));
+
+        mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("Range", "bytes=5-9")
+                        .header("If-Range", "W/" + eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+
+        // Intervalo fora do arquivo: 416 com o tamanho real no Content-Range
+        mockMvc.perform(get("/api/files/download/{key}", fileKey)
+                        .header("Range", "bytes=999999-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + content.length));
+    }
+
     @Test
     @DisplayName("GET /files/download/{key} - Deve retornar 404 para arquivo inexistente")
     void shouldReturn404ForNonExistentFile() throws Exception {
@@ -206,6 +419,38 @@ class FileControllerIntegrationTest {
                 .andExpect(jsonPath("$[*].fileName", hasItems("integration-test.pdf", "test-image.jpg")));
     }
 
+    @Test
+    @DisplayName("GET /files/export - Deve transmitir a listagem em NDJSON")
+    void shouldExportFilesAsNdjson() throws Exception {
+        // Primeiro faz upload
+        mockMvc.perform(multipart("/api/files/upload")
+                        .file(testFile))
+                .andExpect(status().isCreated());
+
+        MvcResult exportResult = mockMvc.perform(get("/api/files/export")
+                        .param("prefix", "files/"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Timeout longo só para a exportação; os demais endpoints assíncronos mantêm o padrão
+        assertThat(exportResult.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        String body = mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).isNotEmpty();
+        for (String line : lines) {
+            Map<String, Object> file = objectMapper.readValue(line, Map.class);
+            assertThat((String) file.get("key")).startsWith("files/");
+        }
+    }
+
     @Test
     @DisplayName("GET /files/prefix/{prefix} - Deve listar arquivos por prefixo")
     void shouldListFilesByPrefix() throws Exception {
@@ -0,0 +1,115 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.service.impl.AsyncFileServiceImpl;
+import br.com.thiagobianeck.awss3poc.testcontainers.LocalStackTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração para a implementação assíncrona do serviço de arquivos (S3AsyncClient)
+ *
+ * @author Bianeck
+ */
+@SpringBootTest(properties = "app.file.service-mode=async")
+@Testcontainers
+@ActiveProfiles("test")
+@Import(LocalStackTestConfiguration.class)
+@DisplayName("AsyncFileService Integration Tests")
+class AsyncFileServiceTest {
+
+    @Autowired
+    private AsyncFileService asyncFileService;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    private MockMultipartFile testFile;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            s3Client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+        } catch (Exception e) {
+            s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build());
+        }
+
+        testFile = new MockMultipartFile(
+                "file",
+                "async-document.pdf",
+                "application/pdf",
+                "Conteúdo do arquivo de teste assíncrono".getBytes()
+        );
+    }
+
+    @Test
+    @DisplayName("Deve usar a implementação sobre o S3AsyncClient no modo async")
+    void shouldUseS3AsyncClientImplementation() {
+        assertThat(asyncFileService).isInstanceOf(AsyncFileServiceImpl.class);
+    }
+
+    @Test
+    @DisplayName("Deve enviar, consultar e baixar arquivo de forma assíncrona")
+    void shouldUploadAndDownloadAsynchronously() throws Exception {
+        // When
+        FileInfoDto uploadedFile = asyncFileService.uploadFile(testFile).get();
+        FileInfoDto fileInfo = asyncFileService.getFileInfo(uploadedFile.key()).get();
+        FileDownloadDto download = asyncFileService.openDownload(uploadedFile.key(), DownloadConditions.none()).get();
+
+        // Then
+        assertThat(fileInfo.size()).isEqualTo(testFile.getSize());
+        assertThat(fileInfo.fileName()).isEqualTo("async-document.pdf");
+        assertThat(asyncFileService.fileExists(uploadedFile.key()).get()).isTrue();
+        try (InputStream content = download.content().getInputStream()) {
+            assertThat(content.readAllBytes()).isEqualTo(testFile.getBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar página e excluir arquivo de forma assíncrona")
+    void shouldListAndDeleteAsynchronously() throws Exception {
+        // Given
+        FileInfoDto uploadedFile = asyncFileService.uploadFile(testFile).get();
+
+        // When
+        FilePageDto page = asyncFileService.listFiles("files/", 1000, null, null).get();
+        boolean deleted = asyncFileService.deleteFile(uploadedFile.key()).get();
+
+        // Then
+        assertThat(page.files()).extracting(FileInfoDto::key).contains(uploadedFile.key());
+        assertThat(deleted).isTrue();
+        assertThat(asyncFileService.fileExists(uploadedFile.key()).get()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve completar com FileNotFoundException para arquivo inexistente")
+    void shouldFailWithFileNotFoundForMissingKey() {
+        assertThatThrownBy(() -> asyncFileService.openDownload(
+                "files/inexistente-async.pdf", DownloadConditions.none()).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(FileNotFoundException.class);
+    }
+}
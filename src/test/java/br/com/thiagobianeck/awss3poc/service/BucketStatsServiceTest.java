@@ -0,0 +1,271 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.BucketStatsDto;
+import br.com.thiagobianeck.awss3poc.service.impl.BucketStatsServiceImpl;
+import br.com.thiagobianeck.awss3poc.service.impl.ContentAddressedStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da reconciliação das estatísticas com alterações concorrentes à varredura do bucket
+ * O S3 é simulado por um bucket em memória listado em páginas, na ordem das chaves
+ *
+ * @author Bianeck
+ */
+@DisplayName("BucketStatsService Reconcile Tests")
+class BucketStatsServiceTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final ConcurrentSkipListMap<String, Long> bucket = new ConcurrentSkipListMap<>();
+
+    /**
+     * Torna atômicas, em relação à listagem, a alteração do bucket e o registro nas estatísticas
+     */
+    private final ReentrantLock bucketLock = new ReentrantLock();
+
+    private final AtomicInteger pagesListed = new AtomicInteger();
+    private final Map<Integer, Runnable> beforePageSnapshot = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Runnable> afterPageSnapshot = new ConcurrentSkipListMap<>();
+
+    private S3Client s3Client;
+    private ExecutorService executor;
+    private BucketStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenAnswer(invocation -> listPage(invocation.getArgument(0)));
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        statsService = newStatsService(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar uma única vez as alterações feitas durante a varredura")
+    void shouldApplyChangesMadeDuringScanOnce() {
+        // Given
+        bucket.put("a.txt", 10L);
+        bucket.put("b.txt", 20L);
+        bucket.put("c.txt", 30L);
+        bucket.put("d.txt", 40L);
+
+        // Alterações antes da segunda página: atrás da listagem (a.txt) e à frente dela (e.pdf)
+        beforePageSnapshot.put(2, () -> {
+            remove("a.txt");
+            add("e.pdf", 50L);
+        });
+        // Alterações depois da leitura da segunda página, antes da resposta chegar
+        afterPageSnapshot.put(2, () -> {
+            add("c2.txt", 5L);
+            remove("d.txt");
+        });
+
+        // When
+        statsService.reconcile();
+        add("f.txt", 60L);
+
+        // Then
+        BucketStatsDto stats = statsService.getStats();
+        assertThat(stats.totalFiles()).isEqualTo(bucket.size()).isEqualTo(5);
+        assertThat(stats.totalSize()).isEqualTo(bucketSize()).isEqualTo(165L);
+        assertThat(stats.filesByExtension()).isEqualTo(Map.of("pdf", 1L, "txt", 4L));
+        assertThat(stats.lastReconciled()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter as estatísticas exatas com inclusões e exclusões concorrentes às reconciliações")
+    void shouldKeepExactStatsWithConcurrentAddsAndRemoves() throws Exception {
+        // Given
+        for (int i = 0; i < 200; i++) {
+            bucket.put(key(i), (long) i + 1);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            int seed = writer;
+            writers.add(executor.submit(() -> {
+                int i = seed;
+                while (running.get()) {
+                    String key = key(i % 400);
+                    if (bucket.containsKey(key)) {
+                        remove(key);
+                    } else {
+                        add(key, i % 100 + 1);
+                    }
+                    i += 7;
+                }
+            }));
+        }
+
+        // When
+        for (int run = 0; run < 20; run++) {
+            statsService.reconcile();
+        }
+        running.set(false);
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+
+        // Then - sem nova reconciliação, os contadores incrementais batem com o bucket
+        BucketStatsDto stats = statsService.getStats();
+        assertThat(stats.totalFiles()).isEqualTo(bucket.size());
+        assertThat(stats.totalSize()).isEqualTo(bucketSize());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar os blobs e contar os ponteiros com o tamanho do blob na deduplicação")
+    void shouldCountPointersWithBlobSizeWhenDeduplicating() {
+        // Given - dois ponteiros vazios para o mesmo blob de 100 bytes
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenAnswer(invocation -> headPointer(invocation.getArgument(0)));
+        statsService = newStatsService(true);
+
+        bucket.put("a.txt", 10L);
+        bucket.put("blobs/sha256/abc", 100L);
+        bucket.put("p.pdf", 0L);
+        bucket.put("q.pdf", 0L);
+
+        // When
+        statsService.reconcile();
+
+        // Then
+        BucketStatsDto stats = statsService.getStats();
+        assertThat(stats.totalFiles()).isEqualTo(3);
+        assertThat(stats.totalSize()).isEqualTo(210L);
+        assertThat(stats.filesByExtension()).isEqualTo(Map.of("pdf", 2L, "txt", 1L));
+
+        // When - a exclusão de um ponteiro é registrada como o FileService faz, com o tamanho do blob
+        bucketLock.lock();
+        try {
+            bucket.remove("p.pdf");
+            statsService.recordRemoved("p.pdf", 100L);
+        } finally {
+            bucketLock.unlock();
+        }
+        statsService.reconcile();
+
+        // Then - a reconciliação confirma os contadores incrementais
+        stats = statsService.getStats();
+        assertThat(stats.totalFiles()).isEqualTo(2);
+        assertThat(stats.totalSize()).isEqualTo(110L);
+        assertThat(stats.filesByExtension()).isEqualTo(Map.of("pdf", 1L, "txt", 1L));
+    }
+
+    private BucketStatsService newStatsService(boolean dedupEnabled) {
+        var contentStore = new ContentAddressedStore(s3Client, new SimpleMeterRegistry(), executor, "test-bucket",
+                dedupEnabled, 1000, Duration.ofMinutes(5), 4);
+        return new BucketStatsServiceImpl(s3Client, contentStore, executor, "test-bucket");
+    }
+
+    private HeadObjectResponse headPointer(HeadObjectRequest request) {
+        if (!bucket.containsKey(request.key())) {
+            throw NoSuchKeyException.builder().message("Objeto não encontrado").build();
+        }
+        return HeadObjectResponse.builder()
+                .contentLength(0L)
+                .lastModified(Instant.now())
+                .metadata(Map.of(
+                        "blob-key", "blobs/sha256/abc",
+                        "blob-size", "100",
+                        "blob-etag", "\"abc\""))
+                .build();
+    }
+
+    private ListObjectsV2Response listPage(ListObjectsV2Request request) {
+        int page = pagesListed.incrementAndGet();
+        beforePageSnapshot.getOrDefault(page, () -> { }).run();
+
+        List<S3Object> contents = new ArrayList<>();
+        bucketLock.lock();
+        try {
+            var keys = request.continuationToken() == null
+                    ? bucket.entrySet()
+                    : bucket.tailMap(request.continuationToken(), false).entrySet();
+            for (var entry : keys) {
+                if (contents.size() == PAGE_SIZE) {
+                    break;
+                }
+                contents.add(S3Object.builder().key(entry.getKey()).size(entry.getValue()).build());
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+
+        afterPageSnapshot.getOrDefault(page, () -> { }).run();
+
+        String lastKey = contents.isEmpty() ? null : contents.getLast().key();
+        boolean truncated = lastKey != null && bucket.higherKey(lastKey) != null;
+        return ListObjectsV2Response.builder()
+                .contents(contents)
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? lastKey : null)
+                .build();
+    }
+
+    private void add(String key, long size) {
+        bucketLock.lock();
+        try {
+            if (bucket.putIfAbsent(key, size) == null) {
+                statsService.recordAdded(key, size);
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        bucketLock.lock();
+        try {
+            Long size = bucket.remove(key);
+            if (size != null) {
+                statsService.recordRemoved(key, size);
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private long bucketSize() {
+        return bucket.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static String key(int i) {
+        return "docs/file-%04d.txt".formatted(i);
+    }
+}
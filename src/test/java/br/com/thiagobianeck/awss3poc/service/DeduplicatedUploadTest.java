@@ -0,0 +1,350 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.service.impl.ContentAddressedStore;
+import br.com.thiagobianeck.awss3poc.testcontainers.LocalStackTestConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração do modo de deduplicação de uploads por conteúdo
+ *
+ * @author Bianeck
+ */
+@SpringBootTest(properties = "app.file.dedup.enabled=true")
+@Testcontainers
+@ActiveProfiles("test")
+@Import(LocalStackTestConfiguration.class)
+@DisplayName("Deduplicated Upload Integration Tests")
+class DeduplicatedUploadTest {
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ContentAddressedStore contentStore;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    private byte[] content;
+    private String blobKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try {
+            s3Client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+        } catch (Exception e) {
+            s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build());
+        }
+
+        // Conteúdo único por teste, para que o blob ainda não exista no bucket compartilhado
+        content = ("Relatório mensal " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        blobKey = "blobs/sha256/" + HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    @Test
+    @DisplayName("Deve armazenar uma única vez o conteúdo enviado repetidamente")
+    void shouldStoreRepeatedContentOnce() {
+        // Given
+        double reusedBefore = reusedUploads();
+
+        // When
+        FileInfoDto first = fileService.uploadFile(
+                new MockMultipartFile("file", "relatorio.pdf", "application/pdf", content));
+        FileInfoDto second = fileService.uploadFile(
+                new MockMultipartFile("file", "relatorio-copia.pdf", "application/pdf", content));
+
+        // Then - duas chaves para o usuário, um único blob com o conteúdo
+        assertThat(first.key()).isNotEqualTo(second.key());
+        assertThat(second.eTag()).isEqualTo(first.eTag());
+        assertThat(blobs()).extracting(S3Object::key).containsExactly(blobKey);
+        assertThat(reusedUploads()).isEqualTo(reusedBefore + 1);
+
+        // Then - as chaves dos arquivos são ponteiros sem corpo
+        var pointer = s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(second.key()).build());
+        assertThat(pointer.contentLength()).isZero();
+        assertThat(pointer.metadata()).containsEntry("blob-key", blobKey);
+    }
+
+    @Test
+    @DisplayName("Deve baixar e descrever o arquivo deduplicado pelo conteúdo do blob")
+    void shouldDownloadDeduplicatedContent() throws Exception {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "contrato.pdf", "application/pdf", content));
+
+        // When
+        FileDownloadDto download = fileService.openDownload(uploaded.key(), DownloadConditions.none());
+        FileInfoDto info = fileService.getFileInfo(uploaded.key());
+
+        // Then
+        try (InputStream body = download.content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(download.fileInfo().fileName()).isEqualTo("contrato.pdf");
+        assertThat(download.fileInfo().contentType()).isEqualTo("application/pdf");
+        assertThat(info.size()).isEqualTo(content.length);
+        assertThat(info.eTag()).isEqualTo(uploaded.eTag());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o blob no upload em streaming e omitir blobs das listagens")
+    void shouldDeduplicateStreamUploadAndHideBlobs() {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "planilha.xlsx", "application/octet-stream", content));
+
+        // When
+        FileInfoDto streamed = fileService.uploadStream("planilha.xlsx", new ByteArrayInputStream(content));
+
+        // Then
+        assertThat(streamed.eTag()).isEqualTo(uploaded.eTag());
+        assertThat(streamed.size()).isEqualTo(content.length);
+        assertThat(blobs()).hasSize(1);
+        assertThat(fileService.listAllFiles())
+                .extracting(FileInfoDto::key)
+                .contains(uploaded.key(), streamed.key())
+                .noneMatch(key -> key.startsWith("blobs/"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar URL pré-assinada que entrega o conteúdo do blob")
+    void shouldPresignDownloadOfBlobContent() throws Exception {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "nota.pdf", "application/pdf", content));
+
+        // When
+        PresignedUrlDto presignedUrl = fileService.generatePresignedUrlForDownload(uploaded.key(),
+                Duration.ofMinutes(5));
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(presignedUrl.presignedUrl())).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(content);
+
+        // Then - excluído o ponteiro, a URL do blob em cache não é mais entregue
+        fileService.deleteFile(uploaded.key());
+        assertThatThrownBy(() -> fileService.generatePresignedUrlForDownload(uploaded.key(), Duration.ofMinutes(5)))
+                .isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve atender Range com o tamanho total do conteúdo deduplicado")
+    void shouldServeRangeOfDeduplicatedContent() throws Exception {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "extrato.pdf", "application/pdf", content));
+
+        // When
+        FileDownloadDto download = fileService.openDownload(uploaded.key(), DownloadConditions.range("bytes=0-7"));
+
+        // Then
+        assertThat(download.isPartial()).isTrue();
+        assertThat(download.fileInfo().size()).isEqualTo(content.length);
+        try (InputStream body = download.content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(Arrays.copyOf(content, 8));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve avaliar as datas condicionais pela data do ponteiro, não pela do blob compartilhado")
+    void shouldEvaluateDateConditionsAgainstPointer() throws Exception {
+        // Given - o blob do conteúdo antigo é anterior à cópia que o cliente guardou
+        FileInfoDto older = fileService.uploadFile(
+                new MockMultipartFile("file", "versao-1.pdf", "application/pdf", content));
+        Thread.sleep(1_100);
+        byte[] newerContent = ("Versão nova " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        FileInfoDto file = fileService.uploadFile(
+                new MockMultipartFile("file", "versao-2.pdf", "application/pdf", newerContent));
+        Instant cachedAt = fileService.getFileInfo(file.key()).lastModified();
+        Thread.sleep(1_100);
+
+        // When - a chave é regravada com o conteúdo antigo
+        fileService.copyFile(older.key(), file.key());
+        FileDownloadDto revalidated = fileService.openDownload(file.key(),
+                DownloadConditions.ifNotModified(null, cachedAt));
+        FileDownloadDto resumed = fileService.openDownload(file.key(), new DownloadConditions("bytes=0-3",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(cachedAt.atZone(ZoneOffset.UTC)), null, null));
+
+        // Then - nem 304 nem intervalo: o arquivo mudou depois da cópia do cliente
+        assertThat(revalidated.isNotModified()).isFalse();
+        assertThat(revalidated.fileInfo().lastModified()).isAfter(cachedAt);
+        try (InputStream body = revalidated.content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(resumed.isPartial()).isFalse();
+        try (InputStream body = resumed.content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(content);
+        }
+
+        // Then - sem alteração posterior, a data do ponteiro responde 304
+        Instant copiedAt = revalidated.fileInfo().lastModified();
+        assertThat(fileService.openDownload(file.key(), DownloadConditions.ifNotModified(null, copiedAt))
+                .isNotModified()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve copiar o ponteiro sem duplicar o conteúdo e listar o tamanho do blob")
+    void shouldCopyPointerAndListBlobSize() throws Exception {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "proposta.pdf", "application/pdf", content));
+        String destinationKey = "copias/" + UUID.randomUUID() + "/proposta.pdf";
+
+        // When
+        FileInfoDto copied = fileService.copyFile(uploaded.key(), destinationKey);
+
+        // Then
+        assertThat(copied.size()).isEqualTo(content.length);
+        assertThat(copied.eTag()).isEqualTo(uploaded.eTag());
+        assertThat(blobs()).hasSize(1);
+        try (InputStream body = fileService.openDownload(destinationKey, DownloadConditions.none())
+                .content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(fileService.listFilesByPrefix(destinationKey))
+                .singleElement()
+                .satisfies(file -> {
+                    assertThat(file.size()).isEqualTo(content.length);
+                    assertThat(file.eTag()).isEqualTo(uploaded.eTag());
+                    assertThat(file.fileName()).isEqualTo("proposta.pdf");
+                });
+    }
+
+    @Test
+    @DisplayName("Deve listar uma página de ponteiros fora do cache com o tamanho de cada blob")
+    void shouldListPageOfUncachedPointers() {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "boleto.pdf", "application/pdf", content));
+        String prefix = "listagem/" + UUID.randomUUID() + "/";
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add(fileService.copyFile(uploaded.key(), prefix + "boleto-" + i + ".pdf").key());
+        }
+        contentStore.invalidateAll(keys);
+
+        // When
+        FilePageDto page = fileService.listFiles(prefix, 50, null, null);
+
+        // Then
+        assertThat(page.files())
+                .hasSize(20)
+                .allSatisfy(file -> {
+                    assertThat(file.size()).isEqualTo(content.length);
+                    assertThat(file.eTag()).isEqualTo(uploaded.eTag());
+                    assertThat(file.fileName()).isEqualTo("boleto.pdf");
+                });
+    }
+
+    @Test
+    @DisplayName("Deve manter o conteúdo acessível pelos demais ponteiros após excluir um deles")
+    void shouldKeepContentForOtherPointersAfterDelete() throws Exception {
+        // Given
+        FileInfoDto first = fileService.uploadFile(
+                new MockMultipartFile("file", "recibo.pdf", "application/pdf", content));
+        FileInfoDto second = fileService.uploadFile(
+                new MockMultipartFile("file", "recibo-2.pdf", "application/pdf", content));
+
+        // When
+        fileService.deleteFile(first.key());
+
+        // Then
+        assertThat(fileService.fileExists(first.key())).isFalse();
+        assertThat(blobs()).hasSize(1);
+        try (InputStream body = fileService.openDownload(second.key(), DownloadConditions.none())
+                .content().getInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar exclusão, cópia e movimentação de blobs")
+    void shouldRejectChangesToBlobs() {
+        // Given
+        FileInfoDto uploaded = fileService.uploadFile(
+                new MockMultipartFile("file", "laudo.pdf", "application/pdf", content));
+
+        // When / Then
+        assertThatThrownBy(() -> fileService.deleteFile(blobKey))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.deleteFiles(List.of(uploaded.key(), blobKey)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.deleteByPrefix("blobs/", progress -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.copyFile(blobKey, "copias/blob.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.copyFile(uploaded.key(), blobKey))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.copyByPrefix("blobs/", "copias/", true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileService.copyByPrefix("files/", "blobs/sha256/", false))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(blobs()).hasSize(1);
+        assertThat(fileService.fileExists(uploaded.key())).isTrue();
+    }
+
+    private List<S3Object> blobs() {
+        return s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(blobKey)
+                .build()).contents();
+    }
+
+    private double reusedUploads() {
+        var counter = meterRegistry.find("s3.dedup.uploads").tag("result", "reused").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -1,10 +1,28 @@
 package br.com.thiagobianeck.awss3poc.service;
 
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileDownloadDto;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FilePageDto;
+import br.com.thiagobianeck.awss3poc.dto.FileUploadResultDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartPartDto;
+import br.com.thiagobianeck.awss3poc.dto.MultipartUploadDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixCopyResultDto;
+import br.com.thiagobianeck.awss3poc.dto.PrefixDeleteProgressDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedPartsDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUploadRequestDto;
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlBatchDto;
 import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
 import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
 import br.com.thiagobianeck.awss3poc.exception.FileUploadException;
+import br.com.thiagobianeck.awss3poc.exception.InvalidRangeException;
+import br.com.thiagobianeck.awss3poc.service.impl.KeyExistenceFilter;
 import br.com.thiagobianeck.awss3poc.testcontainers.LocalStackTestConfiguration;
+import br.com.thiagobianeck.awss3poc.util.BloomFilter;
+import br.com.thiagobianeck.awss3poc.util.FileUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,13 +35,24 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.multipart.MultipartFile;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -46,6 +75,12 @@ class FileServiceTest {
     @Autowired
     private S3Client s3Client;
 
+    @Autowired
+    private KeyExistenceFilter keyExistenceFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
@@ -109,6 +144,114 @@ class FileServiceTest {
         assertThat(fileService.fileExists(result.key())).isTrue();
     }
 
+    @Test
+    @DisplayName("Deve fazer upload multipart de arquivo acima do threshold")
+    void shouldUploadLargeFileUsingMultipart() throws IOException {
+        // Given - 12MB com threshold de 6MB e partes de 5MB no perfil de teste (3 partes)
+        byte[] content = new byte[12 * 1024 * 1024];
+        new java.util.Random(42).nextBytes(content);
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "large-video.mp4", "video/mp4", content);
+
+        // When
+        FileInfoDto result = fileService.uploadFile(multipartFile);
+
+        // Then
+        assertThat(result.size()).isEqualTo(content.length);
+        assertThat(result.eTag()).isNotBlank();
+
+        FileInfoDto fileInfo = fileService.getFileInfo(result.key());
+        assertThat(fileInfo.size()).isEqualTo(content.length);
+        assertThat(fileInfo.contentType()).isEqualTo("video/mp4");
+        assertThat(fileInfo.fileName()).isEqualTo("large-video.mp4");
+
+        Resource resource = fileService.downloadFile(result.key());
+        try (var inputStream = resource.getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve fazer upload de corpo bruto com tamanho declarado")
+    void shouldUploadRawContentWithDeclaredLength() throws IOException {
+        // Given - acima do threshold do perfil de teste: vai direto para o multipart
+        byte[] content = new byte[8 * 1024 * 1024];
+        new java.util.Random(11).nextBytes(content);
+
+        // When
+        FileInfoDto result = fileService.uploadFile("raw-image.png", new ByteArrayInputStream(content), content.length);
+
+        // Then
+        assertThat(result.size()).isEqualTo(content.length);
+        assertThat(result.contentType()).isEqualTo("image/png");
+
+        Resource resource = fileService.downloadFile(result.key());
+        try (var inputStream = resource.getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(content);
+        }
+
+        assertThatThrownBy(() -> fileService.uploadFile("raw-large.pdf",
+                new ByteArrayInputStream(new byte[0]), 51L * 1024 * 1024))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("muito grande");
+    }
+
+    @Test
+    @DisplayName("Deve tratar como erro do cliente o corpo bruto interrompido durante o envio ao S3")
+    void shouldRejectRawContentInterruptedByClient() {
+        // Given - o cliente encerra a conexão depois de enviar parte do corpo declarado
+        byte[] sent = "Parte do conteúdo".getBytes();
+        InputStream connectionReset = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Conexão encerrada pelo cliente");
+            }
+        };
+        var interruptedBody = new SequenceInputStream(new ByteArrayInputStream(sent), connectionReset);
+
+        // When / Then
+        assertThatThrownBy(() -> fileService.uploadFile("interrupted.pdf", interruptedBody, 1024))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("difere do tamanho declarado");
+    }
+
+    @Test
+    @DisplayName("Deve fazer upload em streaming de arquivo de tamanho desconhecido")
+    void shouldUploadStreamOfUnknownSize() throws IOException {
+        // Given - abaixo e acima do threshold do perfil de teste (PutObject único e multipart)
+        byte[] smallContent = "Conteúdo enviado em streaming".getBytes();
+        byte[] largeContent = new byte[12 * 1024 * 1024];
+        new java.util.Random(7).nextBytes(largeContent);
+
+        // When
+        FileInfoDto small = fileService.uploadStream("stream-document.txt", new ByteArrayInputStream(smallContent));
+        FileInfoDto large = fileService.uploadStream("stream-video.mp4", new ByteArrayInputStream(largeContent));
+
+        // Then
+        assertThat(small.size()).isEqualTo(smallContent.length);
+        assertThat(large.size()).isEqualTo(largeContent.length);
+        assertThat(fileService.getFileInfo(large.key()).fileName()).isEqualTo("stream-video.mp4");
+
+        Resource resource = fileService.downloadFile(large.key());
+        try (var inputStream = resource.getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(largeContent);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar upload em streaming que ultrapassa o tamanho máximo")
+    void shouldRejectOversizedStream() {
+        // When & Then
+        assertThatThrownBy(() -> fileService.uploadStream("stream-large.pdf",
+                new ByteArrayInputStream(new byte[51 * 1024 * 1024])))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("muito grande");
+
+        assertThatThrownBy(() -> fileService.uploadStream("stream-empty.pdf", new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("vazio");
+    }
+
     @Test
     @DisplayName("Deve rejeitar arquivo muito grande")
     void shouldRejectOversizedFile() {
@@ -147,6 +290,26 @@ class FileServiceTest {
         results.forEach(file -> assertThat(fileService.fileExists(file.key())).isTrue());
     }
 
+    @Test
+    @DisplayName("Deve retornar resultado individual por arquivo no upload paralelo")
+    void shouldReturnPerFileResultsForParallelUpload() {
+        // Given
+        List<MultipartFile> files = IntStream.range(0, 5)
+                .mapToObj(i -> (MultipartFile) new MockMultipartFile(
+                        "files", "batch" + i + ".txt", "text/plain", ("Conteúdo " + i).getBytes()))
+                .toList();
+
+        // When
+        List<FileUploadResultDto> results = fileService.uploadFiles(files);
+
+        // Then - resultados na mesma ordem da entrada
+        assertThat(results).hasSize(5);
+        assertThat(results).allMatch(FileUploadResultDto::success);
+        assertThat(results).extracting(FileUploadResultDto::fileName)
+                .containsExactly("batch0.txt", "batch1.txt", "batch2.txt", "batch3.txt", "batch4.txt");
+        results.forEach(result -> assertThat(fileService.fileExists(result.file().key())).isTrue());
+    }
+
     @Test
     @DisplayName("Deve fazer download de arquivo existente")
     void shouldDownloadExistingFile() throws IOException {
@@ -162,6 +325,63 @@ class FileServiceTest {
         assertThat(resource.contentLength()).isEqualTo(testFile.getSize());
     }
 
+    @Test
+    @DisplayName("Deve abrir download com metadados da mesma resposta do GetObject")
+    void shouldOpenDownloadWithMetadata() throws IOException {
+        // Given
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+
+        // When
+        FileDownloadDto download = fileService.openDownload(uploadedFile.key(), DownloadConditions.none());
+
+        // Then
+        assertThat(download.fileInfo().fileName()).isEqualTo("test-document.pdf");
+        assertThat(download.fileInfo().contentType()).isEqualTo("application/pdf");
+        assertThat(download.fileInfo().size()).isEqualTo(testFile.getSize());
+        assertThat(download.fileInfo().eTag()).isEqualTo(uploadedFile.eTag());
+        try (var inputStream = download.content().getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(testFile.getBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve baixar apenas o intervalo solicitado via Range")
+    void shouldOpenRangedDownload() throws IOException {
+        // Given
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+        byte[] content = testFile.getBytes();
+
+        // When
+        FileDownloadDto download = fileService.openDownload(uploadedFile.key(), DownloadConditions.range("bytes=0-4"));
+        FileDownloadDto suffix = fileService.openDownload(uploadedFile.key(), DownloadConditions.range("bytes=-3"));
+
+        // Then
+        assertThat(download.isPartial()).isTrue();
+        assertThat(download.contentLength()).isEqualTo(5);
+        assertThat(download.contentRange()).isEqualTo("bytes 0-4/" + content.length);
+        assertThat(download.fileInfo().size()).isEqualTo(testFile.getSize());
+        try (var inputStream = download.content().getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 0, 5));
+        }
+        try (var inputStream = suffix.content().getInputStream()) {
+            assertThat(inputStream.readAllBytes())
+                    .isEqualTo(Arrays.copyOfRange(content, content.length - 3, content.length));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para intervalo fora do arquivo")
+    void shouldThrowExceptionForUnsatisfiableRange() {
+        // Given
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+
+        // When & Then
+        assertThatThrownBy(() -> fileService.openDownload(uploadedFile.key(),
+                DownloadConditions.range("bytes=999999-")))
+                .isInstanceOf(InvalidRangeException.class)
+                .hasMessageContaining("inválido");
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar baixar arquivo inexistente")
     void shouldThrowExceptionWhenDownloadingNonExistentFile() {
@@ -203,6 +423,32 @@ class FileServiceTest {
         assertThat(files).allMatch(file -> file.key().startsWith(prefix));
     }
 
+    @Test
+    @DisplayName("Deve listar arquivos em páginas usando o cursor")
+    void shouldListFilesInPagesUsingCursor() {
+        // Given
+        IntStream.range(0, 5).forEach(i -> s3Client.putObject(
+                builder -> builder.bucket(bucketName).key("paginacao/arquivo-" + i + ".txt"),
+                RequestBody.fromString("conteúdo " + i)));
+
+        // When
+        FilePageDto firstPage = fileService.listFiles("paginacao/", 2, null, null);
+        FilePageDto secondPage = fileService.listFiles("paginacao/", 2, firstPage.nextCursor(), null);
+        FilePageDto fromKey = fileService.listFiles("paginacao/", 10, null, "paginacao/arquivo-2.txt");
+
+        // Then
+        assertThat(firstPage.files()).extracting(FileInfoDto::key)
+                .containsExactly("paginacao/arquivo-0.txt", "paginacao/arquivo-1.txt");
+        assertThat(firstPage.hasMore()).isTrue();
+        assertThat(secondPage.files()).extracting(FileInfoDto::key)
+                .containsExactly("paginacao/arquivo-2.txt", "paginacao/arquivo-3.txt");
+        assertThat(fromKey.files()).extracting(FileInfoDto::key)
+                .containsExactly("paginacao/arquivo-3.txt", "paginacao/arquivo-4.txt");
+        assertThat(fromKey.hasMore()).isFalse();
+        assertThat(fromKey.nextCursor()).isNull();
+        assertThat(fileService.streamFiles("paginacao/")).hasSize(5);
+    }
+
     @Test
     @DisplayName("Deve obter informações de arquivo específico")
     void shouldGetFileInfo() {
@@ -234,6 +480,26 @@ class FileServiceTest {
         assertThat(fileService.fileExists(uploadedFile.key())).isFalse();
     }
 
+    @Test
+    @DisplayName("Deve invalidar o cache de metadados ao sobrescrever arquivo por cópia")
+    void shouldRefreshCachedMetadataAfterOverwrite() {
+        // Given
+        FileInfoDto firstFile = fileService.uploadFile(testFile);
+        FileInfoDto secondFile = fileService.uploadFile(
+                new MockMultipartFile("file", "outro-doc.txt", "text/plain", "Outro conteúdo maior".getBytes()));
+        String destinationKey = "files/cache/destino.txt";
+
+        fileService.copyFile(firstFile.key(), destinationKey);
+        assertThat(fileService.getFileInfo(destinationKey).size()).isEqualTo(firstFile.size());
+
+        // When
+        fileService.copyFile(secondFile.key(), destinationKey);
+
+        // Then
+        assertThat(fileService.getFileInfo(destinationKey).size()).isEqualTo(secondFile.size());
+        assertThat(fileService.getFileInfo(destinationKey).eTag()).isEqualTo(secondFile.eTag());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar excluir arquivo inexistente")
     void shouldThrowExceptionWhenDeletingNonExistentFile() {
@@ -260,6 +526,55 @@ class FileServiceTest {
         keys.forEach(key -> assertThat(fileService.fileExists(key)).isFalse());
     }
 
+    @Test
+    @DisplayName("Deve excluir lote com mais de 1000 chaves em blocos")
+    void shouldDeleteMoreThanOneThousandFilesInChunks() {
+        // Given
+        List<String> keys = IntStream.range(0, 1205)
+                .mapToObj(i -> "lote/arquivo-" + i + ".txt")
+                .toList();
+        keys.parallelStream().forEach(key -> s3Client.putObject(
+                builder -> builder.bucket(bucketName).key(key),
+                RequestBody.fromString(key)));
+
+        // When
+        BatchDeleteResultDto result = fileService.deleteFiles(keys);
+
+        // Then
+        assertThat(result.totalRequested()).isEqualTo(1205);
+        assertThat(result.deletedCount()).isEqualTo(1205);
+        assertThat(result.failed()).isEmpty();
+        assertThat(result.deleted()).containsExactlyInAnyOrderElementsOf(keys);
+        assertThat(fileService.listFilesByPrefix("lote/")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve excluir todos os arquivos de um prefixo reportando o progresso")
+    void shouldDeleteFilesByPrefixReportingProgress() {
+        // Given
+        List<String> keys = IntStream.range(0, 2100)
+                .mapToObj(i -> "mes/2024/01/arquivo-" + i + ".txt")
+                .toList();
+        keys.parallelStream().forEach(key -> s3Client.putObject(
+                builder -> builder.bucket(bucketName).key(key),
+                RequestBody.fromString(key)));
+        s3Client.putObject(builder -> builder.bucket(bucketName).key("mes/2024/02/manter.txt"),
+                RequestBody.fromString("manter"));
+        List<PrefixDeleteProgressDto> progress = new ArrayList<>();
+
+        // When
+        PrefixDeleteProgressDto result = fileService.deleteByPrefix("mes/2024/01/", progress::add);
+
+        // Then
+        assertThat(result.done()).isTrue();
+        assertThat(result.deletedCount()).isEqualTo(2100);
+        assertThat(result.failedCount()).isZero();
+        assertThat(result.pagesProcessed()).isEqualTo(3);
+        assertThat(progress).hasSize(4).last().isEqualTo(result);
+        assertThat(fileService.listFilesByPrefix("mes/2024/01/")).isEmpty();
+        assertThat(fileService.fileExists("mes/2024/02/manter.txt")).isTrue();
+    }
+
     @Test
     @DisplayName("Deve gerar URL pré-assinada para download")
     void shouldGeneratePresignedUrlForDownload() {
@@ -281,6 +596,26 @@ class FileServiceTest {
         assertThat(presignedUrl.isValid()).isTrue();
     }
 
+    @Test
+    @DisplayName("Deve reaproveitar URL pré-assinada de download em cache")
+    void shouldReuseCachedPresignedDownloadUrl() {
+        // Given
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+        PresignedUrlDto firstUrl = fileService.generatePresignedUrlForDownload(
+                uploadedFile.key(), Duration.ofMinutes(30));
+
+        // When
+        PresignedUrlDto secondUrl = fileService.generatePresignedUrlForDownload(
+                uploadedFile.key(), Duration.ofMinutes(30));
+        PresignedUrlDto otherDuration = fileService.generatePresignedUrlForDownload(
+                uploadedFile.key(), Duration.ofMinutes(60));
+
+        // Then
+        assertThat(secondUrl.presignedUrl()).isEqualTo(firstUrl.presignedUrl());
+        assertThat(secondUrl.expiresAt()).isEqualTo(firstUrl.expiresAt());
+        assertThat(otherDuration.presignedUrl()).isNotEqualTo(firstUrl.presignedUrl());
+    }
+
     @Test
     @DisplayName("Deve gerar URL pré-assinada para upload")
     void shouldGeneratePresignedUrlForUpload() {
@@ -303,6 +638,115 @@ class FileServiceTest {
         assertThat(presignedUrl.isValid()).isTrue();
     }
 
+    @Test
+    @DisplayName("Deve gerar URLs pré-assinadas para download em lote descartando chaves inexistentes")
+    void shouldGeneratePresignedUrlsForDownloadInBatch() {
+        // Given
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+        String missingKey = "files/inexistente/arquivo.pdf";
+
+        // When
+        PresignedUrlBatchDto result = fileService.generatePresignedUrlsForDownload(
+                List.of(uploadedFile.key(), missingKey), Duration.ofMinutes(10),
+                PresignedUrlBatchDto.ExistenceCheck.HEAD);
+
+        // Then
+        assertThat(result.requested()).isEqualTo(2);
+        assertThat(result.generated()).isEqualTo(1);
+        assertThat(result.urls().getFirst().key()).isEqualTo(uploadedFile.key());
+        assertThat(result.urls().getFirst().fileName()).isEqualTo("test-document.pdf");
+        assertThat(result.urls().getFirst().operation()).isEqualTo("GET");
+        assertThat(result.notFound()).containsExactly(missingKey);
+    }
+
+    @Test
+    @DisplayName("Não deve reaproveitar URL de lote sem verificação para chave inexistente")
+    void shouldNotCacheUnverifiedBatchPresignedUrl() {
+        // Given
+        String missingKey = "files/inexistente/" + UUID.randomUUID() + ".pdf";
+        PresignedUrlBatchDto batch = fileService.generatePresignedUrlsForDownload(
+                List.of(missingKey), Duration.ofMinutes(10), PresignedUrlBatchDto.ExistenceCheck.NONE);
+
+        // When & Then - a URL do lote não substitui a verificação da solicitação individual
+        assertThat(batch.generated()).isEqualTo(1);
+        assertThatThrownBy(() -> fileService.generatePresignedUrlForDownload(missingKey, Duration.ofMinutes(10)))
+                .isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve gerar URLs pré-assinadas para upload em lote")
+    void shouldGeneratePresignedUrlsForUploadInBatch() {
+        // When
+        PresignedUrlBatchDto result = fileService.generatePresignedUrlsForUpload(List.of(
+                new PresignedUploadRequestDto("foto.jpg", null),
+                new PresignedUploadRequestDto("planilha.xlsx", "application/vnd.ms-excel")),
+                Duration.ofMinutes(10));
+
+        // Then
+        assertThat(result.generated()).isEqualTo(2);
+        assertThat(result.urls()).extracting(PresignedUrlDto::operation).containsOnly("PUT");
+        assertThat(result.urls()).extracting(PresignedUrlDto::key)
+                .allMatch(FileUtils::isGeneratedFileKey)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Deve concluir upload multipart enviado direto ao S3 pelo cliente")
+    void shouldCompleteDirectMultipartUpload() throws Exception {
+        // Given - uma parte completa no tamanho recomendado e uma última parte menor
+        MultipartUploadDto upload = fileService.initiateMultipartUpload("grande.pdf", null, null);
+        int partSize = Math.toIntExact(upload.partSize());
+        byte[] content = new byte[partSize + 1024 * 1024];
+        Arrays.fill(content, (byte) 'a');
+        PresignedPartsDto presignedParts = fileService.presignMultipartParts(
+                upload.key(), upload.uploadId(), 1, 2, Duration.ofMinutes(10));
+
+        // Simula o cliente enviando as partes direto ao S3 pelas URLs pré-assinadas
+        List<MultipartPartDto> parts = new ArrayList<>();
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            for (PresignedPartsDto.Part part : presignedParts.parts()) {
+                int start = (part.partNumber() - 1) * partSize;
+                byte[] partData = Arrays.copyOfRange(content, start, Math.min(start + partSize, content.length));
+
+                HttpRequest request = HttpRequest.newBuilder(URI.create(part.presignedUrl()))
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(partData))
+                        .build();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+
+                assertThat(response.statusCode()).isEqualTo(200);
+                String eTag = response.headers().firstValue("ETag").orElseThrow();
+                parts.add(new MultipartPartDto(part.partNumber(), eTag, null));
+            }
+        }
+
+        // When
+        List<MultipartPartDto> uploadedParts = fileService.listMultipartParts(upload.key(), upload.uploadId());
+        FileInfoDto fileInfo = fileService.completeMultipartUpload(upload.key(), upload.uploadId(), parts);
+
+        // Then
+        assertThat(upload.contentType()).isEqualTo("application/pdf");
+        assertThat(presignedParts.parts()).hasSize(2);
+        assertThat(uploadedParts).extracting(MultipartPartDto::partNumber).containsExactly(1, 2);
+        assertThat(uploadedParts).extracting(MultipartPartDto::size).containsExactly((long) partSize, 1024L * 1024);
+        assertThat(fileInfo.key()).isEqualTo(upload.key());
+        assertThat(fileInfo.fileName()).isEqualTo("grande.pdf");
+        assertThat(fileInfo.size()).isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a conclusão do multipart direto com parte inválida")
+    void shouldRejectDirectMultipartCompletionWithInvalidPart() {
+        // Given
+        MultipartUploadDto upload = fileService.initiateMultipartUpload("invalido.pdf", null, null);
+
+        // When & Then - o erro 400 do S3 (InvalidPart) vira erro de upload do cliente
+        assertThatThrownBy(() -> fileService.completeMultipartUpload(upload.key(), upload.uploadId(),
+                List.of(new MultipartPartDto(1, "\"etag-inexistente\"", null))))
+                .isInstanceOf(FileUploadException.class);
+
+        fileService.abortMultipartUpload(upload.key(), upload.uploadId());
+    }
+
     @Test
     @DisplayName("Deve verificar existência de arquivo")
     void shouldCheckFileExists() {
@@ -314,6 +758,72 @@ class FileServiceTest {
         assertThat(fileService.fileExists("arquivo/inexistente.pdf")).isFalse();
     }
 
+    @Test
+    @DisplayName("Deve publicar as estatísticas do pool de conexões HTTP do S3")
+    void shouldPublishHttpConnectionPoolMetrics() {
+        // When
+        fileService.uploadFile(testFile);
+
+        // Then
+        assertThat(meterRegistry.get("s3.http.pool.max").tag("client", "sync").gauge().value()).isEqualTo(100);
+        assertThat(meterRegistry.get("s3.http.pool.acquire").tag("client", "sync").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar arquivo criado depois da construção do filtro de chaves")
+    void shouldFindFileCreatedAfterKeyFilterBuild() {
+        // Given
+        keyExistenceFilter.rebuild();
+
+        // When
+        FileInfoDto uploadedFile = fileService.uploadFile(testFile);
+        FileInfoDto copiedFile = fileService.copyFile(uploadedFile.key(), "files/filtro/copia.pdf");
+
+        // Then
+        assertThat(fileService.fileExists(uploadedFile.key())).isTrue();
+        assertThat(fileService.fileExists(copiedFile.key())).isTrue();
+        assertThat(fileService.fileExists("arquivo/inexistente-apos-filtro.pdf")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Filtro de Bloom não deve ter falsos negativos")
+    void shouldNeverReturnFalseNegativesInBloomFilter() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.put("files/chave-" + i));
+
+        // When
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> filter.mightContain("outros/chave-" + i))
+                .count();
+
+        // Then
+        IntStream.range(0, 1000).forEach(i -> assertThat(filter.mightContain("files/chave-" + i)).isTrue());
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Deve obter informações de vários arquivos em uma única consulta")
+    void shouldGetInfoOfMultipleFiles() {
+        // Given
+        FileInfoDto firstFile = fileService.uploadFile(testFile);
+        FileInfoDto secondFile = fileService.uploadFile(
+                new MockMultipartFile("file", "outro-doc.txt", "text/plain", "Outro conteúdo".getBytes()));
+        String missingKey = "files/inexistente/arquivo.pdf";
+
+        // When
+        FileInfoBatchDto result = fileService.getFilesInfo(
+                List.of(firstFile.key(), secondFile.key(), missingKey, firstFile.key()));
+
+        // Then
+        assertThat(result.requested()).isEqualTo(3);
+        assertThat(result.found()).isEqualTo(2);
+        assertThat(result.files()).containsOnlyKeys(firstFile.key(), secondFile.key());
+        assertThat(result.files().get(secondFile.key()).size()).isEqualTo(secondFile.size());
+        assertThat(result.notFound()).containsExactly(missingKey);
+        assertThat(result.failed()).isEmpty();
+    }
+
     @Test
     @DisplayName("Deve copiar arquivo existente")
     void shouldCopyExistingFile() {
@@ -343,6 +853,51 @@ class FileServiceTest {
                 .hasMessageContaining("não encontrado");
     }
 
+    @Test
+    @DisplayName("Deve mover todos os arquivos de um prefixo preservando o restante da chave")
+    void shouldMoveFilesByPrefix() {
+        // Given
+        List<String> keys = IntStream.range(0, 1150)
+                .mapToObj(i -> "origem/2024/01/sub-" + (i % 3) + "/arquivo-" + i + ".txt")
+                .toList();
+        keys.parallelStream().forEach(key -> s3Client.putObject(
+                builder -> builder.bucket(bucketName).key(key),
+                RequestBody.fromString(key)));
+
+        // When
+        PrefixCopyResultDto result = fileService.copyByPrefix("origem/2024/01/", "arquivo/2024/01/", true);
+
+        // Then
+        assertThat(result.isAllProcessed()).isTrue();
+        assertThat(result.copiedCount()).isEqualTo(1150);
+        assertThat(result.deletedCount()).isEqualTo(1150);
+        assertThat(fileService.listFilesByPrefix("origem/2024/01/")).isEmpty();
+        assertThat(fileService.listFilesByPrefix("arquivo/2024/01/"))
+                .extracting(FileInfoDto::key)
+                .containsExactlyInAnyOrderElementsOf(keys.stream()
+                        .map(key -> key.replaceFirst("^origem/", "arquivo/"))
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixo destino contido no prefixo origem")
+    void shouldRejectDestinationInsideSourcePrefix() {
+        // When & Then
+        assertThatThrownBy(() -> fileService.copyByPrefix("files/", "files/backup/", false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixo destino vazio")
+    void shouldRejectBlankDestinationPrefix() {
+        // When & Then
+        assertThatThrownBy(() -> fileService.copyByPrefix("files/", "", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("destino");
+        assertThatThrownBy(() -> fileService.copyByPrefix("files/", "   ", true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("Deve rejeitar lista vazia de arquivos para upload múltiplo")
     void shouldRejectEmptyFileListForMultipleUpload() {
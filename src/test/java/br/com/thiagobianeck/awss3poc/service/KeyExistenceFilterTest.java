@@ -0,0 +1,112 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.service.impl.KeyExistenceFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes do filtro de chaves com registros concorrentes à reconstrução
+ * O S3 é simulado: a listagem devolve as chaves fixas e as chaves criadas até o momento
+ *
+ * @author Bianeck
+ */
+@DisplayName("KeyExistenceFilter Rebuild Tests")
+class KeyExistenceFilterTest {
+
+    private static final List<String> LISTED_KEYS = List.of("docs/a.txt", "docs/b.txt", "images/c.png");
+
+    private final AtomicInteger listings = new AtomicInteger();
+    private final Queue<String> createdKeys = new ConcurrentLinkedQueue<>();
+
+    private volatile Runnable duringListing = () -> { };
+
+    private ExecutorService executor;
+    private KeyExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Os métodos default do cliente (como o paginador) chamam o listObjectsV2 simulado
+        S3Client s3Client = mock(S3Client.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> {
+            listings.incrementAndGet();
+            duringListing.run();
+            List<S3Object> contents = Stream.concat(LISTED_KEYS.stream(), createdKeys.stream())
+                    .map(key -> S3Object.builder().key(key).size(1L).build())
+                    .toList();
+            return ListObjectsV2Response.builder()
+                    .contents(contents)
+                    .isTruncated(false)
+                    .build();
+        }).when(s3Client).listObjectsV2(any(ListObjectsV2Request.class));
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        filter = new KeyExistenceFilter(s3Client, executor, "test-bucket", 100_000, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve manter no novo filtro a chave registrada durante a varredura")
+    void shouldKeepKeyAddedDuringListing() {
+        // Given
+        filter.rebuild();
+        duringListing = () -> filter.add("uploads/novo.pdf");
+
+        // When
+        filter.rebuild();
+
+        // Then
+        assertThat(listings).hasValue(2);
+        assertThat(filter.mightExist("uploads/novo.pdf")).isTrue();
+        assertThat(LISTED_KEYS).allMatch(filter::mightExist);
+    }
+
+    @Test
+    @DisplayName("Não deve perder chaves registradas concorrentemente às reconstruções")
+    void shouldNotLoseKeysAddedConcurrentlyWithRebuilds() throws Exception {
+        // Given
+        filter.rebuild();
+
+        // Como na aplicação, a chave é registrada no filtro depois que o objeto foi criado
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                String key = "uploads/file-" + i + ".txt";
+                createdKeys.add(key);
+                filter.add(key);
+            }
+        });
+
+        // When
+        for (int run = 0; run < 50 || !writer.isDone(); run++) {
+            filter.rebuild();
+        }
+        writer.get();
+
+        // Then - o filtro de Bloom não tem falsos negativos para chaves registradas
+        assertThat(createdKeys).hasSize(20_000).allMatch(filter::mightExist);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.PresignedUrlDto;
+import br.com.thiagobianeck.awss3poc.service.impl.PresignedUrlCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes da janela de reaproveitamento das URLs pré-assinadas em cache
+ *
+ * @author Bianeck
+ */
+@DisplayName("PresignedUrlCache Tests")
+class PresignedUrlCacheTest {
+
+    private static final String KEY = "files/2024/01/relatorio.pdf";
+
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PresignedUrlCache(new SimpleMeterRegistry(), 100, 0.5);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a URL enquanto resta ao menos a validade mínima")
+    void shouldReuseUrlWithinMinRemainingValidity() {
+        // Given
+        Duration duration = Duration.ofMinutes(10);
+        PresignedUrlDto url = urlExpiringAt(Instant.now().plus(duration), duration);
+
+        // When
+        cache.put(KEY, duration, url);
+
+        // Then
+        assertThat(cache.getIfPresent(KEY, duration)).isEqualTo(url);
+        assertThat(cache.getIfPresent(KEY, Duration.ofMinutes(30))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve deixar de entregar a URL ao cruzar a validade mínima restante")
+    void shouldRenewUrlAfterMinRemainingValidityIsCrossed() throws InterruptedException {
+        // Given - metade de 2s: a URL é reaproveitada por cerca de 1s
+        Duration duration = Duration.ofSeconds(2);
+        PresignedUrlDto firstUrl = urlExpiringAt(Instant.now().plus(duration), duration);
+        cache.put(KEY, duration, firstUrl);
+        assertThat(cache.getIfPresent(KEY, duration)).isEqualTo(firstUrl);
+
+        // When
+        Thread.sleep(1_200);
+
+        // Then - a próxima solicitação assina uma nova URL, que passa a ser a reaproveitada
+        assertThat(cache.getIfPresent(KEY, duration)).isNull();
+
+        PresignedUrlDto renewedUrl = urlExpiringAt(Instant.now().plus(duration), duration);
+        cache.put(KEY, duration, renewedUrl);
+        assertThat(cache.getIfPresent(KEY, duration)).isEqualTo(renewedUrl);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar URL cuja validade restante já está abaixo do mínimo")
+    void shouldNotReuseUrlAlreadyBelowMinRemainingValidity() {
+        // Given
+        Duration duration = Duration.ofMinutes(10);
+        PresignedUrlDto url = urlExpiringAt(Instant.now().plus(Duration.ofMinutes(4)), duration);
+
+        // When
+        cache.put(KEY, duration, url);
+
+        // Then
+        assertThat(cache.getIfPresent(KEY, duration)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve remover as URLs de todas as durações das chaves invalidadas")
+    void shouldInvalidateUrlsOfAllDurations() {
+        // Given
+        String otherKey = "files/2024/01/planilha.xlsx";
+        Duration shortDuration = Duration.ofMinutes(10);
+        Duration longDuration = Duration.ofMinutes(60);
+        cache.put(KEY, shortDuration, urlExpiringAt(Instant.now().plus(shortDuration), shortDuration));
+        cache.put(KEY, longDuration, urlExpiringAt(Instant.now().plus(longDuration), longDuration));
+        cache.put(otherKey, shortDuration, urlExpiringAt(Instant.now().plus(shortDuration), shortDuration));
+
+        // When
+        cache.invalidate(KEY);
+
+        // Then
+        assertThat(cache.getIfPresent(KEY, shortDuration)).isNull();
+        assertThat(cache.getIfPresent(KEY, longDuration)).isNull();
+        assertThat(cache.getIfPresent(otherKey, shortDuration)).isNotNull();
+
+        // When
+        cache.invalidateAll(List.of(otherKey));
+
+        // Then
+        assertThat(cache.getIfPresent(otherKey, shortDuration)).isNull();
+    }
+
+    private static PresignedUrlDto urlExpiringAt(Instant expiresAt, Duration duration) {
+        return PresignedUrlDto.forDownload("relatorio.pdf", KEY,
+                "https://bucket.s3.amazonaws.com/" + KEY + "?X-Amz-Expires=" + expiresAt.getEpochSecond(),
+                expiresAt, (int) duration.toMinutes());
+    }
+}
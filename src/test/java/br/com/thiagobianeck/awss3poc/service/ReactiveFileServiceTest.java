@@ -0,0 +1,211 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.DownloadConditions;
+import br.com.thiagobianeck.awss3poc.dto.FileInfoDto;
+import br.com.thiagobianeck.awss3poc.dto.FileStreamDto;
+import br.com.thiagobianeck.awss3poc.exception.FileNotFoundException;
+import br.com.thiagobianeck.awss3poc.testcontainers.LocalStackTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes de integração para o serviço reativo de arquivos e o servidor Reactor Netty
+ *
+ * @author Bianeck
+ */
+@SpringBootTest(properties = {"app.reactive.enabled=true", "app.reactive.port=0"})
+@Testcontainers
+@ActiveProfiles("test")
+@Import(LocalStackTestConfiguration.class)
+@DisplayName("ReactiveFileService Integration Tests")
+class ReactiveFileServiceTest {
+
+    private static final String CONTENT = "Conteúdo do arquivo de teste reativo";
+
+    @Autowired
+    private ReactiveFileService reactiveFileService;
+
+    @Autowired
+    private DisposableServer reactiveHttpServer;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Value("${aws.s3.http.max-connections}")
+    private int syncMaxConnections;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            s3Client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+        } catch (Exception e) {
+            s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve enviar e baixar arquivo em streaming reativo")
+    void shouldUploadAndDownloadReactively() {
+        // Given
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        FileInfoDto uploadedFile = reactiveFileService.uploadFile("reactive-document.txt", bytes.length,
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes))).block();
+        FileStreamDto download = reactiveFileService.openDownload(uploadedFile.key(), DownloadConditions.none())
+                .block();
+
+        // Then
+        assertThat(uploadedFile.fileName()).isEqualTo("reactive-document.txt");
+        assertThat(uploadedFile.size()).isEqualTo(bytes.length);
+        assertThat(download.isPartial()).isFalse();
+        assertThat(download.contentLength()).isEqualTo(bytes.length);
+        assertThat(readAll(download)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Deve baixar apenas o intervalo solicitado")
+    void shouldDownloadRangeReactively() {
+        // Given
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        FileInfoDto uploadedFile = reactiveFileService.uploadFile("reactive-range.txt", bytes.length,
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes))).block();
+
+        // When
+        FileStreamDto download = reactiveFileService
+                .openDownload(uploadedFile.key(), DownloadConditions.range("bytes=0-7"))
+                .block();
+
+        // Then
+        assertThat(download.isPartial()).isTrue();
+        assertThat(download.contentLength()).isEqualTo(8);
+        assertThat(download.fileInfo().size()).isEqualTo(bytes.length);
+        assertThat(readAll(download)).isEqualTo(CONTENT.substring(0, 8));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao baixar arquivo inexistente")
+    void shouldThrowExceptionWhenDownloadingNonExistentFile() {
+        assertThatThrownBy(() -> reactiveFileService
+                .openDownload("inexistente/arquivo.txt", DownloadConditions.none())
+                .block())
+                .isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve atender upload e download pelo servidor reativo")
+    void shouldServeFilesThroughReactiveServer() throws Exception {
+        // Given
+        HttpClient httpClient = HttpClient.newHttpClient();
+        String baseUrl = "http://localhost:" + reactiveHttpServer.port() + "/files";
+
+        // When
+        HttpResponse<String> upload = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/upload/served.txt"))
+                .PUT(HttpRequest.BodyPublishers.ofString(CONTENT))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        String key = upload.body().replaceAll("(?s).*\"key\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+
+        HttpResponse<String> download = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/download/" + key))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        HttpResponse<String> missing = httpClient.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/download/inexistente/arquivo.txt"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(upload.statusCode()).isEqualTo(201);
+        assertThat(download.statusCode()).isEqualTo(200);
+        assertThat(download.body()).isEqualTo(CONTENT);
+        assertThat(download.headers().firstValue("ETag")).isPresent();
+        assertThat(missing.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Deve informar Last-Modified e responder 304 ao If-Modified-Since pelo servidor reativo")
+    void shouldHonorIfModifiedSinceThroughReactiveServer() throws Exception {
+        // Given
+        HttpClient httpClient = HttpClient.newHttpClient();
+        String baseUrl = "http://localhost:" + reactiveHttpServer.port() + "/files";
+
+        HttpResponse<String> upload = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/upload/dated.txt"))
+                .PUT(HttpRequest.BodyPublishers.ofString(CONTENT))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String key = upload.body().replaceAll("(?s).*\"key\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+
+        // When
+        HttpResponse<String> info = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/info/" + key))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String lastModified = info.headers().firstValue("Last-Modified").orElseThrow();
+
+        HttpResponse<String> revalidated = httpClient.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/download/" + key))
+                .header("If-Modified-Since", lastModified)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(info.statusCode()).isEqualTo(200);
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+        assertThat(revalidated.body()).isEmpty();
+        assertThat(revalidated.headers().firstValue("Last-Modified")).hasValue(lastModified);
+    }
+
+    @Test
+    @DisplayName("Deve manter abertas mais transferências simultâneas que o pool do cliente síncrono")
+    void shouldHoldMoreConcurrentTransfersThanSyncPool() {
+        // Given
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        FileInfoDto uploadedFile = reactiveFileService.uploadFile("reactive-concurrent.txt", bytes.length,
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes))).block();
+        int transfers = syncMaxConnections + 50;
+
+        // When - nenhum conteúdo é lido até todos os downloads abrirem: cada um segura sua conexão,
+        // como um cliente lento; com o pool limitado a max-connections, os excedentes esperariam em vão
+        List<FileStreamDto> downloads = Flux.range(0, transfers)
+                .flatMap(i -> reactiveFileService.openDownload(uploadedFile.key(), DownloadConditions.none()),
+                        transfers)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        // Then
+        assertThat(downloads).hasSize(transfers);
+        assertThat(downloads).allSatisfy(download -> assertThat(readAll(download)).isEqualTo(CONTENT));
+    }
+
+    private static String readAll(FileStreamDto download) {
+        DataBuffer joined = DataBufferUtils.join(download.content()).block();
+        return joined.toString(StandardCharsets.UTF_8);
+    }
+}
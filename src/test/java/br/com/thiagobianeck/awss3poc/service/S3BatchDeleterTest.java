@@ -0,0 +1,104 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.dto.BatchDeleteResultDto;
+import br.com.thiagobianeck.awss3poc.service.impl.S3BatchDeleter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da exclusão em lote com falhas inesperadas em um dos blocos e do limite de concorrência
+ *
+ * @author Bianeck
+ */
+@DisplayName("S3BatchDeleter Tests")
+class S3BatchDeleterTest {
+
+    private ExecutorService executor;
+    private S3BatchDeleter batchDeleter;
+
+    @BeforeEach
+    void setUp() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            // O segundo bloco (chaves 1000 a 1999) falha com um erro fora do SDK
+            if (request.delete().objects().getFirst().key().equals(key(1000))) {
+                throw new IllegalStateException("Falha inesperada");
+            }
+            return DeleteObjectsResponse.builder().build();
+        });
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        batchDeleter = new S3BatchDeleter(s3Client, executor, "test-bucket", 4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve manter o resultado dos blocos concluídos quando um bloco falha inesperadamente")
+    void shouldKeepCompletedChunksWhenOneChunkFails() {
+        // Given
+        List<String> keys = IntStream.range(0, 2500).mapToObj(S3BatchDeleterTest::key).toList();
+
+        // When
+        BatchDeleteResultDto result = batchDeleter.deleteAll(keys);
+
+        // Then
+        assertThat(result.totalRequested()).isEqualTo(2500);
+        assertThat(result.deletedCount()).isEqualTo(1500);
+        assertThat(result.deleted()).contains(key(0), key(999), key(2000), key(2499)).doesNotContain(key(1000));
+        assertThat(result.failed())
+                .hasSize(1000)
+                .allSatisfy(failure -> assertThat(failure.code()).isEqualTo("IllegalStateException"))
+                .extracting(BatchDeleteResultDto.Failure::key)
+                .contains(key(1000), key(1999));
+    }
+
+    @Test
+    @DisplayName("Deve limitar as threads de plataforma do executor à concorrência configurada")
+    void shouldNotGrowPlatformPoolBeyondConcurrency() {
+        // Given - o executor do modo de plataforma cria uma thread para cada tarefa submetida sem thread livre
+        S3Client slowClient = mock(S3Client.class);
+        when(slowClient.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return DeleteObjectsResponse.builder().build();
+        });
+        ThreadPoolExecutor platformPool = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        var deleter = new S3BatchDeleter(slowClient, platformPool, "test-bucket", 4, 3);
+        List<String> keys = IntStream.range(0, 40_000).mapToObj(S3BatchDeleterTest::key).toList();
+
+        try {
+            // When
+            BatchDeleteResultDto result = deleter.deleteAll(keys);
+
+            // Then - 40 blocos; cada thread ocupada tem uma vaga ou acabou de devolvê-la
+            assertThat(result.deletedCount()).isEqualTo(40_000);
+            assertThat(platformPool.getLargestPoolSize()).isLessThanOrEqualTo(8);
+        } finally {
+            platformPool.shutdownNow();
+        }
+    }
+
+    private static String key(int i) {
+        return "docs/file-%04d.txt".formatted(i);
+    }
+}
@@ -0,0 +1,254 @@
+package br.com.thiagobianeck.awss3poc.service;
+
+import br.com.thiagobianeck.awss3poc.testcontainers.LocalStackTestConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de carga dos downloads pela API HTTP contra o LocalStack, com o Tomcat em threads de plataforma
+ * (spring.threads.virtual.enabled=false) e em threads virtuais (true), cada modo em seu próprio contexto
+ * O cliente mantém mais requisições simultâneas que threads no Tomcat, e o pool de conexões do S3
+ * fica acima dessa concorrência para não ser o gargalo da comparação
+ * Fora do build padrão; execute com: mvn test -Pbenchmark
+ *
+ * @author Bianeck
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de threads de plataforma x threads virtuais")
+class ThreadModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeBenchmarkTest.class);
+
+    private static final int FILES = 20;
+    private static final int FILE_SIZE = 64 * 1024;
+    private static final int WARMUP_REQUESTS = 400;
+    private static final int REQUESTS = 4000;
+
+    /**
+     * Requisições simultâneas do cliente: acima do pool do Tomcat, abaixo do pool de conexões do S3
+     */
+    private static final int CONCURRENCY = 400;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int S3_MAX_CONNECTIONS = 800;
+
+    /**
+     * Espera máxima por uma conexão do S3: acima disso, o pool teria limitado a comparação
+     */
+    private static final Duration MAX_CONNECTION_WAIT = Duration.ofMillis(100);
+
+    /**
+     * Vazão mínima das threads virtuais em relação às de plataforma (margem para a variação entre execuções)
+     */
+    private static final double MIN_VIRTUAL_THROUGHPUT_RATIO = 0.8;
+
+    private static final Map<Boolean, BenchmarkResult> results = new ConcurrentHashMap<>();
+
+    @AfterAll
+    static void compareThreadModes() {
+        BenchmarkResult platform = results.get(false);
+        BenchmarkResult virtual = results.get(true);
+
+        logger.info("Benchmark de downloads HTTP ({} requisições, {} simultâneas, {} KB cada)",
+                REQUESTS, CONCURRENCY, FILE_SIZE / 1024);
+        logger.info("  plataforma ({} threads): {}", TOMCAT_MAX_THREADS, platform);
+        logger.info("  virtuais:                {}", virtual);
+
+        assertThat(platform).isNotNull();
+        assertThat(virtual).isNotNull();
+        assertThat(virtual.throughput())
+                .isGreaterThanOrEqualTo(platform.throughput() * MIN_VIRTUAL_THROUGHPUT_RATIO);
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "aws.s3.http.max-connections=" + S3_MAX_CONNECTIONS})
+    @DisplayName("Tomcat em threads de plataforma")
+    class PlatformThreads extends ThreadModeRun {
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "aws.s3.http.max-connections=" + S3_MAX_CONNECTIONS})
+    @DisplayName("Tomcat em threads virtuais")
+    class VirtualThreads extends ThreadModeRun {
+    }
+
+    @Testcontainers
+    @ActiveProfiles("test")
+    @Import(LocalStackTestConfiguration.class)
+    abstract class ThreadModeRun {
+
+        @Autowired
+        private FileService fileService;
+
+        @Autowired
+        private S3Client s3Client;
+
+        @Autowired
+        private ServletWebServerApplicationContext webServerContext;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Value("${aws.s3.bucket-name}")
+        private String bucketName;
+
+        @Value("${spring.threads.virtual.enabled}")
+        private boolean virtualThreads;
+
+        @LocalServerPort
+        private int port;
+
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        private final List<String> keys = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            try {
+                s3Client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+            } catch (Exception e) {
+                s3Client.createBucket(CreateBucketRequest.builder().bucket(bucketName).build());
+            }
+
+            Random random = new Random(42);
+            for (int i = 0; i < FILES; i++) {
+                byte[] content = new byte[FILE_SIZE];
+                random.nextBytes(content);
+                keys.add(fileService.uploadFile(new MockMultipartFile(
+                        "file", "benchmark-" + i + ".pdf", "application/pdf", content)).key());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve medir vazão e latência p50/p99 dos downloads pela API HTTP")
+        void shouldMeasureThroughputAndP99Latency() throws Exception {
+            // Given - o modo de threads configurado está em vigor no Tomcat
+            var tomcatExecutor = ((TomcatWebServer) webServerContext.getWebServer())
+                    .getTomcat().getConnector().getProtocolHandler().getExecutor();
+            if (virtualThreads) {
+                assertThat(tomcatExecutor).isInstanceOf(VirtualThreadExecutor.class);
+            } else {
+                assertThat(tomcatExecutor).isNotInstanceOf(VirtualThreadExecutor.class);
+            }
+
+            // When
+            run(WARMUP_REQUESTS);
+            BenchmarkResult result = run(REQUESTS);
+            results.put(virtualThreads, result);
+
+            // Then - todas as respostas completas, sem esperar por conexões do pool do S3
+            assertThat(result.errors()).isZero();
+            assertThat(meterRegistry.get("s3.http.pool.max").tag("client", "sync").gauge().value())
+                    .isEqualTo(S3_MAX_CONNECTIONS);
+            assertThat(meterRegistry.get("s3.http.pool.acquire").tag("client", "sync").timer()
+                    .max(TimeUnit.MILLISECONDS))
+                    .isLessThan(MAX_CONNECTION_WAIT.toMillis());
+        }
+
+        /**
+         * Mantém CONCURRENCY requisições em andamento até completar o total; a latência é a de cada requisição
+         */
+        private BenchmarkResult run(int requests) throws Exception {
+            long[] latencies = new long[requests];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int worker = 0; worker < CONCURRENCY; worker++) {
+                    workers.add(executor.submit(() -> {
+                        for (int request = next.getAndIncrement(); request < requests;
+                             request = next.getAndIncrement()) {
+                            long sentAt = System.nanoTime();
+                            if (!download(keys.get(request % keys.size()))) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[request] = System.nanoTime() - sentAt;
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new BenchmarkResult(
+                    requests * 1_000_000_000.0 / elapsed,
+                    latencies[requests / 2] / 1_000_000.0,
+                    latencies[(int) Math.ceil(requests * 0.99) - 1] / 1_000_000.0,
+                    errors.get());
+        }
+
+        private boolean download(String key) {
+            try {
+                HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/files/download/" + key))
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.ofByteArray());
+                return response.statusCode() == 200 && response.body().length == FILE_SIZE;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    private record BenchmarkResult(double throughput, double p50Millis, double p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%.1f req/s, p50 %.1f ms, p99 %.1f ms, %d erros",
+                    throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}